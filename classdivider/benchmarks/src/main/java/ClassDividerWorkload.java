@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import nl.tue.classdivider.benchmarks.Workload;
+import picocli.CommandLine;
+
+/**
+ * Implementation of the benchmarked operations on classdivider's classes.
+ */
+public class ClassDividerWorkload implements Workload {
+
+    private final ClassDivider divider = new ClassDivider();
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object> erase(Group<Student> group) {
+        return (Set<Object>) (Set<?>) group;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Group<Student> typed(Set<Object> group) {
+        return (Group<Student>) (Set<?>) group;
+    }
+
+    @Override
+    public Object student(String firstName, String lastName, String id) {
+        return new Student(firstName, lastName, id);
+    }
+
+    @Override
+    public Set<Object> group() {
+        return erase(new Group<>());
+    }
+
+    @Override
+    public Set<Object> fromCSV(Path file) throws IOException {
+        return erase(StudentsFile.fromCSV(file));
+    }
+
+    @Override
+    public Set<Object> fromMappedCSV(Path file) throws IOException {
+        return erase(StudentsFile.fromMappedCSV(file));
+    }
+
+    @Override
+    public Set<Object> fromCSVParallel(Path file) throws IOException {
+        return erase(StudentsFile.fromCSVParallel(file));
+    }
+
+    @Override
+    public boolean isDividable(Set<Object> klas, int groupSize, int deviation) {
+        return divider.isDividable(typed(klas), groupSize, deviation);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<? extends Set<Object>> divide(Set<Object> klas, int groupSize,
+            int deviation) {
+        return (Collection<? extends Set<Object>>) (Collection<?>)
+                divider.divide(typed(klas), groupSize, deviation);
+    }
+
+    @Override
+    public Runnable cliPipeline(Set<Object> klas, int groupSize, int deviation) {
+        ClassDividerCLI cli = CommandLine.populateCommand(new ClassDividerCLI(),
+                "-g", Integer.toString(groupSize),
+                "-d", Integer.toString(deviation),
+                "students.lst");
+        Group<Student> students = typed(klas);
+        return () -> {
+            List<Group<Student>> groups = cli.divideStudents(students);
+            print(groups, students, "text");
+        };
+    }
+
+    @Override
+    public Runnable printGroups(Set<Object> klas, int groupSize, String format) {
+        Group<Student> students = typed(klas);
+        List<Group<Student>> groups = new ArrayList<>(divider.divide(students, groupSize, 1));
+        DisplayNames names = DisplayNames.of(students.inOrder());
+        if (format.equals("printstream")) {
+            return () -> printStream(groups, names);
+        }
+        GroupsWriter.Format writerFormat = GroupsWriter.Format.of(format);
+        return () -> {
+            try {
+                GroupsWriter writer = new GroupsWriter(Channels.newChannel(System.out));
+                writer.write(groups, names, writerFormat);
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> listInOrder(Set<Object> klas, boolean roster) {
+        Group<Student> students = typed(klas);
+        if (roster) {
+            return () -> Roster.of(students.inOrder()).inOrder().get(0);
+        }
+        return () -> {
+            List<Student> sorted = new ArrayList<>(students.inOrder());
+            sorted.sort(Comparator.comparing(Student::sortName));
+            return sorted.get(0);
+        };
+    }
+
+    @Override
+    public ToIntFunction<String> countWithPrefix(Set<Object> klas, boolean roster) {
+        Group<Student> students = typed(klas);
+        if (roster) {
+            Roster sorted = Roster.of(students.inOrder());
+            return prefix -> sorted.withPrefix(prefix).size();
+        }
+        return prefix -> (int) students.inOrder().stream()
+                .filter(student -> student.sortName()
+                        .regionMatches(true, 0, prefix, 0, prefix.length()))
+                .count();
+    }
+
+    private static void print(List<Group<Student>> groups, Group<Student> klas, String format) {
+        try {
+            GroupsWriter.print(groups, klas, format, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Print the groups a line at a time, the way they were printed before
+     * GroupsWriter.
+     */
+    private static void printStream(List<Group<Student>> groups, DisplayNames names) {
+        int groupNr = 0;
+        for (Group<Student> group : groups) {
+            groupNr++;
+            System.out.printf("Group %d:%n", groupNr);
+            for (Student student : group) {
+                System.out.println("- " + names.get(student));
+            }
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ClassDivider's isDividable and divide.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ClassDividerBenchmark {
+
+    /**
+     * ClassDivider.isDividable.
+     */
+    @Benchmark
+    public boolean isDividable(DivisionState state) {
+        return state.workload.isDividable(state.klas, state.groupSize, state.deviation);
+    }
+
+    /**
+     * ClassDivider.divide.
+     */
+    @Benchmark
+    public Collection<?> divide(DivisionState state) {
+        return state.workload.divide(state.klas, state.groupSize, state.deviation);
+    }
+}
@@ -0,0 +1,60 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The command-line interface's division and printing of a class.
+ *
+ * Standard output is redirected to a stream that discards everything, so
+ * the benchmark measures formatting and printing, not the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CliPipelineBenchmark {
+
+    private PrintStream stdout;
+    private Runnable pipeline;
+
+    /**
+     * Prepare the pipeline and redirect standard output.
+     */
+    @Setup
+    public void setUp(DivisionState state) {
+        pipeline = state.workload.cliPipeline(state.klas, state.groupSize, state.deviation);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restore standard output.
+     */
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * ClassDividerCLI's divideStudents and GroupsWriter's text output.
+     */
+    @Benchmark
+    public void divideAndPrint() {
+        pipeline.run();
+    }
+}
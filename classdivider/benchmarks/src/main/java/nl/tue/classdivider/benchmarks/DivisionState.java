@@ -0,0 +1,36 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.util.Set;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A synthetic class to divide, parameterized by class size, group size, and deviation.
+ */
+@State(Scope.Benchmark)
+public class DivisionState {
+
+    @Param({"30", "10000", "1000000"})
+    int classSize;
+
+    @Param({"4", "8"})
+    int groupSize;
+
+    @Param({"1", "2"})
+    int deviation;
+
+    Workload workload;
+    Set<Object> klas;
+
+    /**
+     * Create the class.
+     */
+    @Setup
+    public void setUp() {
+        workload = Workload.load();
+        klas = workload.group();
+        klas.addAll(SyntheticClass.students(workload, classSize));
+    }
+}
@@ -0,0 +1,85 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Group's add, contains, and (random) iterator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class GroupBenchmark {
+
+    @Param({"30", "10000", "1000000"})
+    int classSize;
+
+    private Workload workload;
+    private List<Object> students;
+    private List<Object> probes;
+    private Set<Object> klas;
+
+    /**
+     * Create the students and a group with the first half of them.
+     */
+    @Setup
+    public void setUp() {
+        workload = Workload.load();
+        students = SyntheticClass.students(workload, classSize);
+        probes = SyntheticClass.students(workload, 2 * classSize);
+        klas = workload.group();
+        klas.addAll(students.subList(0, classSize / 2));
+    }
+
+    /**
+     * Add all students to an empty group.
+     */
+    @Benchmark
+    public Set<Object> add() {
+        Set<Object> group = workload.group();
+        for (Object student : students) {
+            group.add(student);
+        }
+        return group;
+    }
+
+    /**
+     * Look up students, a quarter of which are in the group.
+     */
+    @Benchmark
+    public int contains() {
+        int found = 0;
+        for (Object student : probes) {
+            if (klas.contains(student)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Iterate over all members of the group in random order.
+     */
+    @Benchmark
+    public void iterator(Blackhole blackhole) {
+        for (Object student : klas) {
+            blackhole.consume(student);
+        }
+    }
+}
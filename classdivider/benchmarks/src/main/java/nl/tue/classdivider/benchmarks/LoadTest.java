@@ -0,0 +1,149 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test for the divider server, see {@code DividerServer}.
+ *
+ * Start the server with {@code java -jar classdivider-0.6.jar --serve}, then
+ * run:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar nl.tue.classdivider.benchmarks.LoadTest \
+ *     [url] [clients] [seconds] [class size]
+ * </pre>
+ *
+ * Each client posts the same synthetic class as CSV, waits for the
+ * response, and repeats until the time is up. Afterwards, the throughput
+ * and latency percentiles over all clients are printed.
+ */
+public final class LoadTest {
+
+    private static final String DEFAULT_URL = "http://localhost:8080/divide?groupSize=4";
+
+    private LoadTest() {
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @param args URL (default {@value #DEFAULT_URL}), number of concurrent
+     *     clients (default 8), duration in seconds (default 10), and class
+     *     size (default 30)
+     * @throws Exception when the load test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : DEFAULT_URL);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int classSize = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(SyntheticClass.csv(classSize)))
+                .build();
+
+        // Warm up the server, and fail early if it does not work
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("%s responded %d: %s"
+                    .formatted(uri, response.statusCode(), response.body()));
+        }
+
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Client>> futures = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            futures.add(pool.submit(() -> new Client(client, request).run(end)));
+        }
+        List<Client> results = new ArrayList<>();
+        for (Future<Client> future : futures) {
+            results.add(get(future));
+        }
+        pool.shutdown();
+
+        report(results, seconds);
+    }
+
+    private static Client get(Future<Client> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void report(List<Client> clients, int seconds) {
+        long[] latencies = clients.stream()
+                .flatMapToLong(client -> Arrays.stream(client.latencies, 0, client.requests))
+                .sorted()
+                .toArray();
+        long errors = clients.stream().mapToLong(client -> client.errors).sum();
+
+        System.out.printf("%d requests, %d errors, %.0f requests/s%n",
+                latencies.length, errors, (double) latencies.length / seconds);
+        if (latencies.length > 0) {
+            System.out.printf("latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                    percentile(latencies, 50), percentile(latencies, 90),
+                    percentile(latencies, 99), latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * One client: sends requests one after the other and records their latencies.
+     */
+    private static final class Client {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private long[] latencies = new long[1024];
+        private int requests;
+        private long errors;
+
+        Client(HttpClient client, HttpRequest request) {
+            this.client = client;
+            this.request = request;
+        }
+
+        Client run(long end) throws InterruptedException {
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request,
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                    continue;
+                }
+                if (requests == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, 2 * requests);
+                }
+                latencies[requests++] = System.nanoTime() - start;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Printing a divided class: a print per line on {@code System.out}, as
+ * before, against GroupsWriter's buffered text, CSV, and JSON Lines output.
+ *
+ * Standard output is a {@link PrintStream} over a stream that discards
+ * everything, like in {@link CliPipelineBenchmark}, so the benchmark measures
+ * formatting and the calls into the stream, not the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class OutputBenchmark {
+
+    @Param({"10000", "100000"})
+    int classSize;
+
+    @Param({"printstream", "text", "csv", "jsonl"})
+    String format;
+
+    private PrintStream stdout;
+    private Runnable print;
+
+    /**
+     * Divide the class and redirect standard output.
+     */
+    @Setup
+    public void setUp() {
+        Workload workload = Workload.load();
+        Set<Object> klas = workload.group();
+        klas.addAll(SyntheticClass.students(workload, classSize));
+        print = workload.printGroups(klas, 4, format);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Restore standard output.
+     */
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    /**
+     * Print all groups.
+     */
+    @Benchmark
+    public void print() {
+        print.run();
+    }
+}
@@ -0,0 +1,73 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Listing a class alphabetically and searching it by name: sorting by
+ * {@code Student.sortName()} and comparing every student's sort name, against
+ * a {@code Roster} with precomputed keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class RosterBenchmark {
+
+    @Param({"10000", "100000"})
+    int classSize;
+
+    @Param({"false", "true"})
+    boolean roster;
+
+    private Supplier<Object> list;
+    private ToIntFunction<String> count;
+
+    /**
+     * Create the class, and the roster to search.
+     */
+    @Setup
+    public void setUp() {
+        Workload workload = Workload.load();
+        Set<Object> klas = workload.group();
+        klas.addAll(SyntheticClass.students(workload, classSize));
+        list = workload.listInOrder(klas, roster);
+        count = workload.countWithPrefix(klas, roster);
+    }
+
+    /**
+     * List the class in alphabetical order; with a roster, this includes
+     * creating it.
+     *
+     * @return the first student
+     */
+    @Benchmark
+    public Object listInOrder() {
+        return list.get();
+    }
+
+    /**
+     * Count the students with a last name and first name.
+     *
+     * @return number of students
+     */
+    @Benchmark
+    public int countWithPrefix() {
+        return count.applyAsInt("Dijk, Lisa");
+    }
+}
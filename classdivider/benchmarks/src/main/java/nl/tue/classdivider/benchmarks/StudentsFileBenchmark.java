@@ -0,0 +1,78 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a class from a CSV file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class StudentsFileBenchmark {
+
+    @Param({"30", "10000", "1000000"})
+    int classSize;
+
+    private Workload workload;
+    private Path file;
+
+    /**
+     * Write the synthetic class to a file.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        workload = Workload.load();
+        file = SyntheticClass.writeCSV(classSize);
+    }
+
+    /**
+     * Remove the file.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * StudentsFile.fromCSV(Path).
+     */
+    @Benchmark
+    public Set<Object> fromCSV() throws IOException {
+        return workload.fromCSV(file);
+    }
+
+    /**
+     * StudentsFile.fromMappedCSV(Path).
+     */
+    @Benchmark
+    public Set<Object> fromMappedCSV() throws IOException {
+        return workload.fromMappedCSV(file);
+    }
+
+    /**
+     * StudentsFile.fromCSVParallel(Path).
+     */
+    @Benchmark
+    public Set<Object> fromCSVParallel() throws IOException {
+        return workload.fromCSVParallel(file);
+    }
+}
@@ -0,0 +1,89 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic student data, so the benchmarks run without real class lists.
+ *
+ * Names are drawn from small pools, so first names collide as they do in
+ * real classes; IDs are unique seven digit numbers.
+ */
+final class SyntheticClass {
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Bram", "Daan", "Emma", "Fleur", "Julia", "Lars", "Lisa", "Mila", "Noah",
+        "Sanne", "Sem", "Tess", "Thijs", "Zoë", "Mohammed", "Aron", "Joel", "Agnes", "Peter"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "de Jong", "Jansen", "de Vries", "van den Berg", "van Dijk", "Bakker", "Janssen",
+        "Visser", "Smit", "Meijer", "de Boer", "Mulder", "de Groot", "Bos", "Vos", "Peters",
+        "Hendriks", "van Leeuwen", "Dekker", "Brouwer", "de Wit", "Dijkstra", "Smits"
+    };
+
+    private SyntheticClass() {
+    }
+
+    /**
+     * Names of the i-th synthetic student: first name, last name, and ID.
+     */
+    static String[] student(SplittableRandom random, int i) {
+        return new String[] {
+            FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+            LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+            Integer.toString(1_000_000 + i)
+        };
+    }
+
+    /**
+     * Create the students of a synthetic class.
+     */
+    static List<Object> students(Workload workload, int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        List<Object> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String[] names = student(random, i);
+            students.add(workload.student(names[0], names[1], names[2]));
+        }
+        return students;
+    }
+
+    /**
+     * Write a synthetic class to a temporary CSV file in students.lst format.
+     */
+    static Path writeCSV(int size) throws IOException {
+        Path file = Files.createTempFile("students-" + size + "-", ".lst");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            writeCSV(out, size);
+        }
+        return file;
+    }
+
+    /**
+     * Create a synthetic class in students.lst format.
+     */
+    static String csv(int size) {
+        StringBuilder csv = new StringBuilder();
+        try {
+            writeCSV(csv, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return csv.toString();
+    }
+
+    private static void writeCSV(Appendable out, int size) throws IOException {
+        SplittableRandom random = new SplittableRandom(size);
+        out.append("\uFEFFfirst name,last name,ID\r\n");
+        for (int i = 0; i < size; i++) {
+            out.append(String.join(",", student(random, i))).append("\r\n");
+        }
+    }
+}
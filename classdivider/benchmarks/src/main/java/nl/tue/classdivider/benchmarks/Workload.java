@@ -0,0 +1,139 @@
+package nl.tue.classdivider.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * The classdivider operations that are benchmarked.
+ *
+ * Classdivider's classes are in the unnamed package, so benchmarks cannot
+ * refer to them directly. Instead, they use this interface, which is
+ * implemented in the unnamed package by {@code ClassDividerWorkload}. Groups
+ * are passed around as {@code Set<Object>} and students as {@code Object}.
+ */
+public interface Workload {
+
+    /**
+     * Find the implementation of this interface.
+     *
+     * @return the workload
+     */
+    static Workload load() {
+        return ServiceLoader.load(Workload.class)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No Workload implementation."));
+    }
+
+    /**
+     * Create a student.
+     *
+     * @param firstName first name
+     * @param lastName last name
+     * @param id ID
+     * @return the student
+     */
+    Object student(String firstName, String lastName, String id);
+
+    /**
+     * Create an empty group.
+     *
+     * @return the group
+     */
+    Set<Object> group();
+
+    /**
+     * Read students with {@code StudentsFile.fromCSV(Path)}.
+     *
+     * @param file path to CSV file
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    Set<Object> fromCSV(Path file) throws IOException;
+
+    /**
+     * Read students with {@code StudentsFile.fromMappedCSV(Path)}.
+     *
+     * @param file path to CSV file
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    Set<Object> fromMappedCSV(Path file) throws IOException;
+
+    /**
+     * Read students with {@code StudentsFile.fromCSVParallel(Path)}.
+     *
+     * @param file path to CSV file
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    Set<Object> fromCSVParallel(Path file) throws IOException;
+
+    /**
+     * Call {@code ClassDivider.isDividable}.
+     *
+     * @param klas group of students
+     * @param groupSize target group size
+     * @param deviation permitted deviation
+     * @return true if dividable
+     */
+    boolean isDividable(Set<Object> klas, int groupSize, int deviation);
+
+    /**
+     * Call {@code ClassDivider.divide}.
+     *
+     * @param klas group of students
+     * @param groupSize target group size
+     * @param deviation permitted deviation
+     * @return the groups
+     */
+    Collection<? extends Set<Object>> divide(Set<Object> klas, int groupSize, int deviation);
+
+    /**
+     * Prepare the command-line interface's division and printing of a class.
+     *
+     * @param klas group of students
+     * @param groupSize target group size
+     * @param deviation permitted deviation
+     * @return runs the pipeline, printing to {@code System.out}
+     */
+    Runnable cliPipeline(Set<Object> klas, int groupSize, int deviation);
+
+    /**
+     * Divide a class and prepare printing its groups to {@code System.out}.
+     *
+     * @param klas group of students
+     * @param groupSize target group size
+     * @param format {@code printstream} for a print per line on
+     *     {@code System.out}, as groups were printed before
+     *     {@code GroupsWriter}, or the name of a {@code GroupsWriter} format
+     * @return prints the groups
+     */
+    Runnable printGroups(Set<Object> klas, int groupSize, String format);
+
+    /**
+     * Prepare listing a class in alphabetical order.
+     *
+     * @param klas group of students
+     * @param roster true to create a {@code Roster}, false to sort the
+     *     students by {@code Student.sortName()}
+     * @return lists the class, returning the first student
+     */
+    Supplier<Object> listInOrder(Set<Object> klas, boolean roster);
+
+    /**
+     * Prepare counting the students whose sort name starts with a prefix,
+     * ignoring case.
+     *
+     * @param klas group of students
+     * @param roster true to search a {@code Roster} of the class, created
+     *     beforehand, false to compare the {@code Student.sortName()} of every
+     *     student
+     * @return counts the students with a prefix
+     */
+    ToIntFunction<String> countWithPrefix(Set<Object> klas, boolean roster);
+}
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+#
+# Compare the wall time of dividing a small class with and without the
+# class-data sharing archive built by the appcds profile. Build first with
+#
+#   mvn -Pappcds package
+#
+# in the classdivider directory, then run this script from anywhere:
+#
+#   benchmarks/startup.sh [runs] [students file]
+#
+# The configurations take turns, so that a machine getting busier or quieter
+# during the measurement affects them all alike.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+runs=${1:-20}
+students=${2:-students.lst}
+jar=target/classdivider-0.6.jar
+archive=target/classdivider-0.6.jsa
+
+if [[ ! -f $jar || ! -f $archive ]]; then
+    echo "Missing $jar or $archive; build them with: mvn -Pappcds package" >&2
+    exit 1
+fi
+
+labels=(
+    "no class-data sharing"
+    "JDK archive (default)"
+    "AppCDS"
+    "AppCDS, C1 only"
+)
+options=(
+    "-Xshare:off"
+    ""
+    "-XX:SharedArchiveFile=$archive"
+    "-XX:SharedArchiveFile=$archive -XX:TieredStopAtLevel=1"
+)
+times=()
+
+for ((run = -1; run < runs; run++)); do
+    for c in "${!options[@]}"; do
+        start=$(date +%s%N)
+        # shellcheck disable=SC2086 # split the options into arguments
+        java ${options[c]} -jar "$jar" -g 4 "$students" > /dev/null
+        end=$(date +%s%N)
+        if ((run >= 0)); then # the first round warms up the file cache
+            times[c]+="$(((end - start) / 1000)) "
+        fi
+    done
+done
+
+echo "$runs runs of dividing $students into groups of 4"
+for c in "${!options[@]}"; do
+    tr ' ' '\n' <<< "${times[c]}" | grep . | sort -n | awk -v label="${labels[c]}" '
+        { t[NR] = $1; sum += $1 }
+        END {
+            median = NR % 2 ? t[(NR + 1) / 2] : (t[NR / 2] + t[NR / 2 + 1]) / 2
+            printf "%-24s median %7.1f ms   mean %7.1f ms\n", label, median / 1000, sum / NR / 1000
+        }'
+done
@@ -0,0 +1,157 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Balance attributes over groups of fixed sizes by swapping students.
+ *
+ * Students are identified by index. Every value of every attribute is a
+ * category, numbered from 0, and each student has one category per
+ * attribute. Ideally, a group has as many students of a category as its
+ * share of the class: {@code size(g) * total(c) / students}. The imbalance
+ * is the sum over all groups and categories of the squared difference
+ * between the actual and the ideal count.
+ *
+ * Swapping two students changes four counts per attribute on which they
+ * differ, so the change in imbalance is computed from those counts alone,
+ * in time independent of the class size.
+ */
+final class AttributeBalancer {
+
+    /*
+     * Margin for rounding errors in the change in imbalance.
+     */
+    private static final double EPSILON = 1e-9;
+
+    private final int[] categories;
+    private final int attributes;
+    private final int categoryCount;
+    private final int[] groupOf;
+    private final int[] groupSize;
+    private final int[] total;
+    private final int[] count;
+    private final RandomGenerator random;
+
+    /*
+     * Representation invariant:
+     * - categories[m * attributes + a] is the category of student m for attribute a
+     * - count[g * categoryCount + c] == number of students m with groupOf[m] == g
+     *   and category c
+     * - total[c] == number of students with category c
+     */
+
+    /**
+     * Create a balancer.
+     *
+     * @param categories per student, their category for each attribute
+     * @param attributes number of attributes
+     * @param categoryCount number of categories, over all attributes
+     * @param groupOf per student, the index of their initial group
+     * @param groupCount number of groups
+     * @param random source of randomness
+     */
+    AttributeBalancer(int[] categories, int attributes, int categoryCount, int[] groupOf,
+            int groupCount, RandomGenerator random) {
+        this.categories = categories;
+        this.attributes = attributes;
+        this.categoryCount = categoryCount;
+        this.groupOf = groupOf.clone();
+        this.random = random;
+
+        groupSize = new int[groupCount];
+        total = new int[categoryCount];
+        count = new int[groupCount * categoryCount];
+        for (int m = 0; m < groupOf.length; m++) {
+            groupSize[groupOf[m]]++;
+            for (int a = 0; a < attributes; a++) {
+                int c = categories[m * attributes + a];
+                total[c]++;
+                count[groupOf[m] * categoryCount + c]++;
+            }
+        }
+    }
+
+    /**
+     * Swap random pairs of students in different groups, keeping the swaps
+     * that do not increase the imbalance, until there have been
+     * {@code maxStale} attempts in a row without improvement. Swaps that
+     * keep the imbalance the same let the search cross plateaus.
+     *
+     * @param maxStale number of attempts without improvement to give up after
+     */
+    void balance(long maxStale) {
+        int students = groupOf.length;
+        long stale = 0;
+        while (stale < maxStale) {
+            int x = random.nextInt(students);
+            int y = random.nextInt(students);
+            double delta = groupOf[x] == groupOf[y] ? 1 : delta(x, y);
+            if (delta < EPSILON) {
+                swap(x, y);
+            }
+            stale = delta < -EPSILON ? 0 : stale + 1;
+        }
+    }
+
+    /**
+     * Change in imbalance when students x and y swap groups.
+     */
+    double delta(int x, int y) {
+        int g = groupOf[x];
+        int h = groupOf[y];
+        double delta = 0;
+        for (int a = 0; a < attributes; a++) {
+            int p = categories[x * attributes + a];
+            int q = categories[y * attributes + a];
+            if (p != q) {
+                // Counts of p and q in g change by -1 and +1, in h by +1 and -1,
+                // and (d + 1)^2 - d^2 == 2d + 1
+                delta += 4 + 2 * (deviation(g, q) - deviation(g, p)
+                        + deviation(h, p) - deviation(h, q));
+            }
+        }
+        return delta;
+    }
+
+    private double deviation(int g, int c) {
+        return count[g * categoryCount + c]
+                - (double) groupSize[g] * total[c] / groupOf.length;
+    }
+
+    private void swap(int x, int y) {
+        int g = groupOf[x];
+        int h = groupOf[y];
+        for (int a = 0; a < attributes; a++) {
+            int p = categories[x * attributes + a];
+            int q = categories[y * attributes + a];
+            count[g * categoryCount + p]--;
+            count[h * categoryCount + p]++;
+            count[h * categoryCount + q]--;
+            count[g * categoryCount + q]++;
+        }
+        groupOf[x] = h;
+        groupOf[y] = g;
+    }
+
+    /**
+     * Current imbalance: the sum of squared deviations from the ideal counts.
+     *
+     * @return imbalance
+     */
+    double imbalance() {
+        double imbalance = 0;
+        for (int g = 0; g < groupSize.length; g++) {
+            for (int c = 0; c < categoryCount; c++) {
+                imbalance += deviation(g, c) * deviation(g, c);
+            }
+        }
+        return imbalance;
+    }
+
+    /**
+     * The group of each student.
+     *
+     * @return per student, the index of their group
+     */
+    int[] groupOf() {
+        return groupOf.clone();
+    }
+}
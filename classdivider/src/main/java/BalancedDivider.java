@@ -0,0 +1,162 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Divide a class into groups that are balanced on student attributes, such
+ * as programme, prior grade band, or language.
+ *
+ * Groups get the same sizes as with {@link ClassDivider#divide(Group, int, int)}.
+ * Starting from a random division, students are swapped between groups as
+ * long as that brings the mix of attribute values in each group closer to
+ * the mix in the whole class, see {@link AttributeBalancer}.
+ */
+public final class BalancedDivider {
+
+    /*
+     * Number of swap attempts without improvement, per student, after which
+     * balancing stops.
+     */
+    private static final int MAX_STALE_PER_STUDENT = 20;
+
+    private final RandomGenerator random;
+
+    /**
+     * Create a divider that uses the default random number generator of the
+     * dividing thread.
+     */
+    public BalancedDivider() {
+        this(null);
+    }
+
+    /**
+     * Create a divider with its own random number generator. A divider with
+     * a generator seeded the same way gives the same groups. It is not
+     * thread-safe.
+     *
+     * @param random random number generator, or null for the default one of
+     *     the dividing thread
+     */
+    public BalancedDivider(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Divide a class into groups of a given size with a given deviation,
+     * balanced on the students' attributes.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param attributes attributes of the students
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the groups; empty if the class cannot be divided
+     */
+    public List<Group<Student>> divide(Group<Student> klas, int groupSize, int deviation,
+            StudentAttributes attributes) {
+        int[] sizes = ClassDivider.groupSizes(klas.size(), groupSize, deviation);
+        if (sizes.length == 0) {
+            return List.of();
+        }
+
+        RandomGenerator random = this.random == null ? Group.random() : this.random;
+        List<Student> students = new ArrayList<>(klas.inOrder());
+        AttributeBalancer balancer = balancer(students, attributes,
+                ClassDivider.randomGroups(sizes, random), sizes.length, random);
+        balancer.balance((long) MAX_STALE_PER_STUDENT * students.size());
+        return groups(students, balancer.groupOf(), sizes.length);
+    }
+
+    /**
+     * Divide a class balanced on the attribute columns of its students file.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param studentsFile the students file the class was read from
+     * @param seed seed for the random number generator
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the groups; empty if the class cannot be divided
+     * @throws IOException when the students file cannot be read
+     * @throws IllegalArgumentException when a student in the students file
+     *     has no ID column
+     */
+    static List<Group<Student>> divide(Group<Student> klas, int groupSize, int deviation,
+            Path studentsFile, long seed) throws IOException {
+        return new BalancedDivider(new SplittableRandom(seed)).divide(klas, groupSize, deviation,
+                StudentAttributes.fromCSV(studentsFile));
+    }
+
+    /**
+     * Imbalance of a division: over all groups and attribute values, the sum
+     * of the squared difference between the number of students with the value
+     * in the group and the group's share of the class.
+     *
+     * @pre true
+     * @param groups the groups
+     * @param attributes attributes of the students
+     * @return the imbalance; 0 if every group has the same mix as the class
+     */
+    public static double imbalance(List<Group<Student>> groups, StudentAttributes attributes) {
+        List<Student> students = new ArrayList<>();
+        List<Integer> groupOf = new ArrayList<>();
+        for (int g = 0; g < groups.size(); g++) {
+            for (Student student : groups.get(g)) {
+                students.add(student);
+                groupOf.add(g);
+            }
+        }
+        return balancer(students, attributes,
+                groupOf.stream().mapToInt(Integer::intValue).toArray(),
+                groups.size(), Group.random()).imbalance();
+    }
+
+    /**
+     * Number the attribute values of the students and create a balancer.
+     */
+    private static AttributeBalancer balancer(List<Student> students,
+            StudentAttributes attributes, int[] groupOf, int groupCount,
+            RandomGenerator random) {
+        int attributeCount = attributes.names().size();
+        int[] categories = new int[students.size() * attributeCount];
+        List<Map<String, Integer>> numbers = new ArrayList<>();
+        for (int a = 0; a < attributeCount; a++) {
+            numbers.add(new HashMap<>());
+        }
+
+        int categoryCount = 0;
+        for (int m = 0; m < students.size(); m++) {
+            for (int a = 0; a < attributeCount; a++) {
+                Integer category = numbers.get(a).putIfAbsent(
+                        attributes.get(students.get(m), a), categoryCount);
+                categories[m * attributeCount + a] = category == null
+                        ? categoryCount++
+                        : category;
+            }
+        }
+        return new AttributeBalancer(categories, attributeCount, categoryCount, groupOf,
+                groupCount, random);
+    }
+
+    /**
+     * The groups, which pick and iterate with this divider's generator.
+     */
+    private List<Group<Student>> groups(List<Student> students, int[] groupOf,
+            int count) {
+        List<Group<Student>> groups = new ArrayList<>(count);
+        for (int g = 0; g < count; g++) {
+            groups.add(new Group<>(random));
+        }
+        for (int i = 0; i < students.size(); i++) {
+            groups.get(groupOf[i]).add(students.get(i));
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Divide many classes in one go.
+ *
+ * Each class is read, divided, and printed to its own output file exactly
+ * like the command-line interface does for a single class. Classes are
+ * processed concurrently on a fixed number of threads. A class that cannot be
+ * read or divided does not stop the batch; its failure is recorded in its
+ * {@link Result} instead.
+ *
+ * The classes to divide are listed in a directory or in a manifest, see
+ * {@link BatchJobs#read(Path, Integer, int)}.
+ */
+public final class BatchDivider {
+
+    private static final String OUTPUT_SUFFIX = ".groups.txt";
+
+    private final Path outputDir;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * A class to divide.
+     *
+     * @param studentsFile path to file with students data in CSV format
+     * @param groupSize target group size
+     * @param deviation permitted deviation from the target group size
+     */
+    public record Job(Path studentsFile, int groupSize, int deviation) {
+    }
+
+    /**
+     * Outcome of dividing one class.
+     *
+     * @param job the class
+     * @param students number of students in the class, 0 if it failed
+     * @param groups number of groups created, 0 if it failed
+     * @param error reason the class could not be divided, null if it succeeded
+     */
+    public record Result(Job job, int students, int groups, String error) {
+
+        /**
+         * Determine if the class was divided.
+         *
+         * @pre true
+         * @return true if the class was divided and written, false otherwise
+         */
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Outcome of dividing a batch of classes.
+     *
+     * @param results the result of each class, in the same order as the jobs
+     * @param seconds time it took to divide the batch, in seconds
+     */
+    public record Summary(List<Result> results, double seconds) {
+
+        /**
+         * The classes that could not be divided.
+         *
+         * @pre true
+         * @return the results of the classes that failed, in the same order
+         *     as the jobs
+         */
+        public List<Result> failures() {
+            return results.stream().filter(result -> !result.succeeded()).toList();
+        }
+
+        /**
+         * Number of classes that were divided.
+         *
+         * @pre true
+         * @return number of classes that succeeded
+         */
+        public int divided() {
+            return results.size() - failures().size();
+        }
+
+        /**
+         * Number of students in the classes that were divided.
+         *
+         * @pre true
+         * @return number of students divided
+         */
+        public long students() {
+            return results.stream().mapToLong(Result::students).sum();
+        }
+    }
+
+    /**
+     * Create a batch divider.
+     *
+     * @param outputDir directory to write the groups of each class to
+     * @param threads number of classes to process at the same time
+     * @pre true
+     * @throws IllegalArgumentException when {@code threads <= 0}
+     */
+    public BatchDivider(Path outputDir, int threads) {
+        this(outputDir, threads, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Create a batch divider that divides reproducibly.
+     *
+     * Each class gets its own random number generator, seeded from
+     * {@code seed} in the order of the jobs. Dividing the same jobs with the
+     * same seed gives the same groups, however many threads are used.
+     *
+     * @param outputDir directory to write the groups of each class to
+     * @param threads number of classes to process at the same time
+     * @param seed seed for the random number generators of the classes
+     * @pre true
+     * @throws IllegalArgumentException when {@code threads <= 0}
+     */
+    public BatchDivider(Path outputDir, int threads, long seed) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be a positive integer.");
+        }
+        this.outputDir = outputDir;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Path of the file the groups of a class are written to: the name of
+     * its students file with {@code .groups.txt} appended, in the output
+     * directory.
+     *
+     * @pre true
+     * @param job the class
+     * @return path to output file
+     */
+    public Path outputFor(Job job) {
+        return outputDir.resolve(job.studentsFile().getFileName() + OUTPUT_SUFFIX);
+    }
+
+    /**
+     * Divide all classes, and time how long that takes.
+     *
+     * @pre true
+     * @param jobs the classes to divide
+     * @return the result of each class and the time the batch took
+     * @throws IOException when the output directory cannot be created
+     * @throws IllegalArgumentException when two classes would be written to
+     *     the same output file
+     */
+    public Summary run(List<Job> jobs) throws IOException {
+        long start = System.nanoTime();
+        List<Result> results = divideAll(jobs);
+        return new Summary(results, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Read the classes to divide from a directory or manifest and divide them
+     * like {@link #run(List)}.
+     *
+     * @pre true
+     * @param batch path to directory or manifest, see {@link BatchJobs#read(Path, Integer, int)}
+     * @param groupSize default target group size, null if there is none
+     * @param deviation default permitted deviation
+     * @return the result of each class and the time the batch took
+     * @throws IOException when an I/O error occurs reading the batch or
+     *     creating the output directory
+     * @throws IllegalArgumentException when the batch is invalid
+     */
+    public Summary run(Path batch, Integer groupSize, int deviation) throws IOException {
+        return run(BatchJobs.read(batch, groupSize, deviation));
+    }
+
+    /**
+     * Divide all classes.
+     *
+     * @pre true
+     * @param jobs the classes to divide
+     * @return the result of each class, in the same order as {@code jobs}
+     * @throws IOException when the output directory cannot be created
+     * @throws IllegalArgumentException when two classes would be written to
+     *     the same output file
+     */
+    public List<Result> divideAll(List<Job> jobs) throws IOException {
+        checkOutputsDistinct(jobs);
+        Files.createDirectories(outputDir);
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                long jobSeed = seeds.nextLong();
+                futures.add(pool.submit(() -> divide(job, jobSeed)));
+            }
+
+            List<Result> results = new ArrayList<>(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                results.add(get(jobs.get(i), futures.get(i)));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void checkOutputsDistinct(List<Job> jobs) {
+        Set<Path> outputs = new HashSet<>();
+        for (Job job : jobs) {
+            if (!outputs.add(outputFor(job))) {
+                throw new IllegalArgumentException(
+                        "More than one class file is named '%s'."
+                                .formatted(job.studentsFile().getFileName()));
+            }
+        }
+    }
+
+    /**
+     * Wait for a class's result. When interrupted, the class, and every class
+     * waited for after it, fails instead.
+     */
+    private static Result get(Job job, Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return new Result(job, 0, 0, "Interrupted.");
+        } catch (ExecutionException e) {
+            // divide catches everything a class can do wrong; anything else is a bug
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Read, divide, and write one class.
+     *
+     * @pre true
+     * @param job the class
+     * @return result of dividing the class
+     */
+    public Result divide(Job job) {
+        return divide(job, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Read, divide with a seeded random number generator, and write one class.
+     *
+     * @pre true
+     * @param job the class
+     * @param jobSeed seed for the random number generator
+     * @return result of dividing the class
+     */
+    public Result divide(Job job, long jobSeed) {
+        try {
+            Group<Student> klas = StudentsFile.fromCSV(job.studentsFile());
+            ClassDivider.checkDividable(klas.size(), job.groupSize(), job.deviation());
+            List<Group<Student>> groups = new ArrayList<>(new ClassDivider(jobSeed)
+                    .divide(klas, job.groupSize(), job.deviation()));
+
+            GroupsWriter.write(groups, DisplayNames.of(klas.inOrder()),
+                    GroupsWriter.Format.TEXT, outputFor(job));
+            return new Result(job, klas.size(), groups.size(), null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(job, 0, 0, String.valueOf(e.getMessage()));
+        }
+    }
+}
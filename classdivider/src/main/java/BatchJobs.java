@@ -0,0 +1,126 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Read the classes to divide in a batch, see {@link BatchDivider}.
+ */
+public final class BatchJobs {
+
+    private static final String FILE = "file";
+    private static final String GROUP_SIZE = "group size";
+    private static final String DEVIATION = "deviation";
+
+    private static final CSVFormat MANIFEST_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreSurroundingSpaces(true)
+            .build();
+
+    private BatchJobs() {
+    }
+
+    /**
+     * Read the classes to divide from a directory or a manifest.
+     *
+     * If {@code batch} is a directory, every {@code .lst} and {@code .csv}
+     * file in it is a class to divide with the given group size and
+     * deviation. Otherwise, {@code batch} is a manifest: a CSV file with a
+     * header and columns {@code file}, {@code group size} (optional), and
+     * {@code deviation} (optional). Relative paths in the manifest are
+     * relative to the manifest's directory; missing group sizes and
+     * deviations are taken from the arguments.
+     *
+     * @pre true
+     * @param batch path to directory or manifest
+     * @param groupSize default target group size, null if there is none
+     * @param deviation default permitted deviation
+     * @return the classes to divide, sorted by path for a directory and in
+     *     manifest order for a manifest
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a class has no group size or the
+     *     manifest is invalid
+     */
+    public static List<BatchDivider.Job> read(Path batch, Integer groupSize, int deviation)
+            throws IOException {
+        return Files.isDirectory(batch)
+                ? directoryJobs(batch, groupSize, deviation)
+                : manifestJobs(batch, groupSize, deviation);
+    }
+
+    private static List<BatchDivider.Job> directoryJobs(Path dir, Integer groupSize,
+            int deviation) throws IOException {
+        if (groupSize == null) {
+            throw new IllegalArgumentException(
+                    "A group size is required to divide all classes in a directory.");
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(BatchJobs::isClassFile)
+                    .sorted()
+                    .map(file -> new BatchDivider.Job(file, groupSize, deviation))
+                    .toList();
+        }
+    }
+
+    private static boolean isClassFile(Path file) {
+        String name = file.getFileName().toString();
+        return Files.isRegularFile(file) && (name.endsWith(".lst") || name.endsWith(".csv"));
+    }
+
+    private static List<BatchDivider.Job> manifestJobs(Path manifest, Integer groupSize,
+            int deviation) throws IOException {
+        Path dir = manifest.toAbsolutePath().getParent();
+        List<BatchDivider.Job> jobs = new ArrayList<>();
+        try (BufferedReader reader = skipByteOrderMark(Files.newBufferedReader(manifest));
+                CSVParser records = CSVParser.parse(reader, MANIFEST_FORMAT)) {
+            if (!records.getHeaderNames().contains(FILE)) {
+                throw new IllegalArgumentException(
+                        "Manifest '%s' has no '%s' column.".formatted(manifest, FILE));
+            }
+            for (CSVRecord record : records) {
+                jobs.add(new BatchDivider.Job(
+                        dir.resolve(record.get(FILE)),
+                        intColumn(record, GROUP_SIZE, groupSize),
+                        intColumn(record, DEVIATION, deviation)));
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Skip the byte order mark spreadsheet programs put at the start of a
+     * CSV file, so it does not become part of the first column's name.
+     */
+    private static BufferedReader skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        return reader;
+    }
+
+    /**
+     * Value of an optional integer column, or the default if it is missing or empty.
+     */
+    private static int intColumn(CSVRecord record, String column, Integer defaultValue) {
+        String value = record.isSet(column) ? record.get(column) : "";
+        if (!value.isEmpty()) {
+            return Integer.parseInt(value);
+        }
+        if (defaultValue == null) {
+            throw new IllegalArgumentException(
+                    "Line %d of the manifest has no %s."
+                            .formatted(record.getRecordNumber() + 1, column));
+        }
+        return defaultValue;
+    }
+}
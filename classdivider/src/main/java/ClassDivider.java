@@ -1,6 +1,12 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Set;
 import java.util.Iterator;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Provides functionality to divide a group of students into smaller groups
@@ -8,6 +14,55 @@ import java.util.HashSet;
  */
 public class ClassDivider {
 
+    /*
+     * Number of swap attempts without fewer repeat pairings, per student,
+     * after which a division with a pairing history stops improving.
+     */
+    private static final int MAX_STALE_PER_STUDENT = 20;
+
+    /*
+     * Generator for all divisions by this divider, or null for the default
+     * generator of the dividing thread, see Group.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * Create a divider that uses the random number generator of the class
+     * being divided, which by default is the one of the dividing thread. It
+     * can be shared between threads.
+     */
+    public ClassDivider() {
+        this.random = null;
+    }
+
+    /**
+     * Create a divider that divides reproducibly: the same class, divided
+     * in the same way, gives the same groups.
+     *
+     * A seeded divider is not thread-safe. To divide in parallel
+     * reproducibly, give each task its own divider, seeded from a
+     * {@link SplittableRandom}.
+     *
+     * @param seed seed for the random number generator
+     */
+    public ClassDivider(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Create a divider with its own random number generator, which is not
+     * shared with any other divider.
+     *
+     * @param random random number generator
+     */
+    public ClassDivider(RandomGenerator random) {
+        this.random = random;
+    }
+
+    private RandomGenerator random() {
+        return random == null ? Group.random() : random;
+    }
+
     /**
      * Checks if it is possible to divide a group of students into groups of a given size
      * with a given deviation.
@@ -20,37 +75,51 @@ public class ClassDivider {
      * @return {@code true} if the division is possible, {@code false} otherwise.
      */
     public boolean isDividable(Group<Student> klas, int groupSize, int deviation) {
-        if (groupSize <= 0 || klas.size() <= 0) {
-            return false;
-        }
-
-        int totalStudents = klas.size();
-        int minSize = groupSize - deviation;
-        int maxSize = groupSize + deviation;
-
-        for (int groupCount = 1; groupCount <= totalStudents; groupCount++) {
-            int minTotal = getMinTotal(groupCount, minSize);
-            int maxTotal = getMaxTotal(groupCount, maxSize);
+        return !GroupCountRange.of(klas.size(), groupSize, deviation).isEmpty();
+    }
 
-            if (totalStudents >= minTotal && totalStudents <= maxTotal) {
-                return true;
-            }
+    /**
+     * Checks that a group size and deviation are valid, and that a class of
+     * the given size can be divided with them. Every way of dividing a class
+     * accepts exactly the input that passes this check.
+     *
+     * @param classSize number of students in the class
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre true
+     * @throws IllegalArgumentException when the group size is not positive,
+     * the deviation is negative or not smaller than the group size, or the
+     * class cannot be divided
+     */
+    public static void checkDividable(int classSize, int groupSize, int deviation) {
+        if (groupSize <= 0) {
+            throw new IllegalArgumentException("Group size must be a positive integer.");
         }
 
-        return false;
-    }
-
-    private int getMinTotal(int groupCount, int minSize) {
-        return groupCount * minSize;
-    }
+        if (deviation >= groupSize || deviation < 0) {
+            throw new IllegalArgumentException(
+                    "Deviation must be a positive number smaller than group size.");
+        }
 
-    private int getMaxTotal(int groupCount, int maxSize) {
-        return groupCount * maxSize;
+        if (GroupCountRange.of(classSize, groupSize, deviation).isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unable to divide a class of %d into groups of %d+/-%d students."
+                            .formatted(classSize, groupSize, deviation)
+            );
+        }
     }
 
     /**
      * Divides a group of students into groups of a given size with a given deviation.
      *
+     * Every student is placed in exactly one group, and every group has
+     * between {@code groupSize - deviation} and {@code groupSize + deviation}
+     * students. The group sizes are computed up front, see
+     * {@link #groupSizes(int, int, int)}, and the groups are filled in a
+     * single pass over the class in random order. The groups pick and
+     * iterate with this divider's random number generator, if it has one.
+     *
      * @param klas      the group of students to divide
      * @param groupSize target group size
      * @param deviation permitted difference of number of students in a group 
@@ -60,40 +129,208 @@ public class ClassDivider {
      */
     public Set<Group<Student>> divide(Group<Student> klas, int groupSize, int deviation) {
         Set<Group<Student>> groupSet = createEmptyGroup();
+        Iterator<Student> students = random == null ? klas.iterator() : klas.iterator(random);
+
+        for (int currentGroupSize : groupSizes(klas.size(), groupSize, deviation)) {
+            Group<Student> group = new Group<>(random);
+            for (int size = 0; size < currentGroupSize; size++) {
+                group.add(students.next());
+            }
 
-        if (!isDividable(klas, groupSize, deviation)) {
+            groupSet.add(group);
+        }
+
+        return groupSet;
+    }
+
+    /**
+     * Divides a group of students into groups of a given size with a given
+     * deviation, with as few students as possible in a group with someone
+     * they have been in a group with before.
+     *
+     * The groups have the same sizes as with {@link #divide(Group, int, int)}.
+     * Starting from a random division, students are swapped between groups
+     * as long as that does not increase the number of repeat pairings, see
+     * {@link PairingHistory#repeats(Iterable)}. The division is not recorded
+     * in the history; students new to the history are numbered in it.
+     *
+     * @param klas      the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param history   how often students have been in a group together
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return a set of groups of students; empty if the class cannot be divided
+     */
+    public Set<Group<Student>> divide(Group<Student> klas, int groupSize, int deviation,
+            PairingHistory history) {
+        Set<Group<Student>> groupSet = createEmptyGroup();
+        int[] sizes = groupSizes(klas.size(), groupSize, deviation);
+        if (sizes.length == 0) {
             return groupSet;
         }
 
-        Iterator<Student> students = klas.iterator();
-        int totalSize = klas.size();
-        int nrOfGroups = totalSize / groupSize;
-        int remainingStudents = totalSize % groupSize;
+        List<Student> students = new ArrayList<>(klas.inOrder());
+        RepeatMinimizer minimizer = new RepeatMinimizer(history,
+                students.stream().mapToInt(history::indexOf).toArray(),
+                randomGroups(sizes, random()), sizes.length, random());
+        minimizer.minimize((long) MAX_STALE_PER_STUDENT * students.size());
 
-        for (int g = 0; g < nrOfGroups; g++) {
-            int currentGroupSize = groupSize;
-            if (remainingStudents-- > 0) {
-                currentGroupSize += 1;
-            }
+        int[] groupOf = minimizer.groupOf();
+        List<Group<Student>> groups = new ArrayList<>(sizes.length);
+        for (int g = 0; g < sizes.length; g++) {
+            groups.add(new Group<>(random));
+        }
+        for (int i = 0; i < groupOf.length; i++) {
+            groups.get(groupOf[i]).add(students.get(i));
+        }
+        groupSet.addAll(groups);
+        return groupSet;
+    }
 
-            Group<Student> group = new Group<>();
-            for (int size = 0; size < currentGroupSize; size++) {
-                group.add(students.next());
-            }
+    /**
+     * Divides a table of students into groups of a given size with a given deviation.
+     *
+     * Works like {@link #divide(Group, int, int)}, but on row indices: no
+     * {@code Student} objects are created. Use
+     * {@link StudentTable#toGroup(int[])} to convert a group to students.
+     *
+     * @param klas      the table of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre {@code 0 < groupSize && 0 <= deviation && 0 < klas.size()}
+     * @return the groups, each an array of row indices into {@code klas}; empty
+     * if the table cannot be divided
+     */
+    public int[][] divide(StudentTable klas, int groupSize, int deviation) {
+        int[] sizes = groupSizes(klas.size(), groupSize, deviation);
+        if (sizes.length == 0) {
+            return new int[0][];
+        }
 
-            groupSet.add(group);
+        int[] rows = shuffledRows(klas.size());
+        int[][] groups = new int[sizes.length][];
+        int next = 0;
+        for (int g = 0; g < sizes.length; g++) {
+            groups[g] = Arrays.copyOfRange(rows, next, next + sizes[g]);
+            next += sizes[g];
         }
+        return groups;
+    }
+
+    /**
+     * Random permutation of {@code 0, ..., size - 1} (Fisher-Yates).
+     */
+    private int[] shuffledRows(int size) {
+        RandomGenerator random = random();
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(0, i + 1);
+            rows[i] = rows[j];
+            rows[j] = i;
+        }
+        return rows;
+    }
 
+    /**
+     * A random division into groups of the given sizes: per student, the
+     * index of their group.
+     *
+     * @param sizes the size of each group
+     * @param random source of randomness
+     * @return per student, the index of their group
+     */
+    static int[] randomGroups(int[] sizes, RandomGenerator random) {
+        int[] groupOf = new int[Arrays.stream(sizes).sum()];
+        int next = 0;
+        for (int g = 0; g < sizes.length; g++) {
+            Arrays.fill(groupOf, next, next + sizes[g], g);
+            next += sizes[g];
+        }
+        // Fisher-Yates
+        for (int i = groupOf.length - 1; i > 0; i--) {
+            int j = random.nextInt(0, i + 1);
+            int g = groupOf[i];
+            groupOf[i] = groupOf[j];
+            groupOf[j] = g;
+        }
+        return groupOf;
+    }
+
+    /**
+     * Updates a division after students joined or left the class.
+     *
+     * Unlike dividing the class again, this keeps students in their group
+     * where possible: students who leave are removed from their group,
+     * students who join are added to the smallest groups, and students are
+     * moved only to keep group sizes within the deviation. The groups are
+     * updated in place. To update the same division repeatedly, use a
+     * {@link Division}, which keeps its index between updates.
+     *
+     * @param groups    the current division
+     * @param added     students who joined the class
+     * @param removed   students who left the class
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the updated set of groups, without groups that were dissolved
+     * and with groups that were added
+     * @throws IllegalArgumentException when the updated class cannot be divided
+     */
+    public Set<Group<Student>> redivide(Set<Group<Student>> groups, Collection<Student> added,
+            Collection<Student> removed, int groupSize, int deviation) {
+        Division division = new Division(groups, groupSize, deviation);
+        division.update(added, removed);
+        Set<Group<Student>> groupSet = createEmptyGroup();
+        groupSet.addAll(division.groups());
         return groupSet;
     }
 
     /**
-     * Creates an empty set of student groups.
+     * Sizes of the groups to divide a class into.
+     *
+     * The number of groups is the one closest to {@code totalSize / groupSize}
+     * for which all groups can be within the deviation, see
+     * {@link GroupCountRange}; on a tie, the smaller number of groups. The
+     * students are spread as evenly as possible over that many groups: group
+     * sizes differ by at most one, and the last groups are the larger ones.
+     * Because the number of groups is in the range, even sizes always are
+     * within the deviation.
+     *
+     * @param totalSize number of students in the class
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre true
+     * @return the size of each group, which add up to {@code totalSize}; empty
+     * if the class cannot be divided
+     */
+    static int[] groupSizes(int totalSize, int groupSize, int deviation) {
+        GroupCountRange range = GroupCountRange.of(totalSize, groupSize, deviation);
+        if (range.isEmpty()) {
+            return new int[0];
+        }
+
+        long closest = (2L * totalSize + groupSize - 1) / (2L * groupSize);
+        int nrOfGroups = (int) Math.max(range.min(), Math.min(range.max(), closest));
+        int smallSize = totalSize / nrOfGroups;
+        int largeGroups = totalSize % nrOfGroups;
+
+        int[] sizes = new int[nrOfGroups];
+        Arrays.fill(sizes, smallSize);
+        Arrays.fill(sizes, nrOfGroups - largeGroups, nrOfGroups, smallSize + 1);
+        return sizes;
+    }
+
+    /**
+     * Creates an empty set of student groups that iterates in creation order.
      *
      * @return an empty set of groups.
      */
     private Set<Group<Student>> createEmptyGroup() {
-        return new HashSet<>();
+        return new LinkedHashSet<>();
 
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.Callable;  
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Model.CommandSpec;
@@ -33,10 +33,10 @@ public class ClassDividerCLI implements Callable<Integer> {
      */
     @CommandLine.Option(
             names = {"-g", "--group-size"},
-            description = "Target group size.",
-            required = true
+            description = "Target group size. Required, except in batch mode with a "
+                    + "manifest that lists the group size of every class."
     )
-    private int groupSize;
+    private Integer groupSize;
 
     /*
      * Number of students that a group can deviate from 
@@ -53,34 +53,295 @@ public class ClassDividerCLI implements Callable<Integer> {
      */
     @Parameters(
             index = "0",
-            description = "Path to file with students data in CSV format."
+            arity = "0..1",
+            description = "Path to file with students data in CSV format. "
+                    + "Required, except in batch mode."
     )
     private Path studentsFile;
 
+    /*
+     * Cache the parsed students file in a binary snapshot next to it.
+     */
+    @CommandLine.Option(
+            names = {"--snapshot"},
+            description = "Keep a binary snapshot of the students file next to it "
+                    + "and load it instead of the CSV file while that is unchanged."
+    )
+    private boolean useSnapshot;
+
+    /*
+     * Path to file with constraints on which students may share a group.
+     */
+    @CommandLine.Option(
+            names = {"--constraints"},
+            paramLabel = "<file>",
+            description = "Keep students apart or together as listed in a CSV file, one "
+                    + "constraint per line: 'apart' or 'together', followed by two or "
+                    + "more student IDs. Unsatisfied constraints are reported."
+    )
+    private Path constraintsFile;
+
+    /*
+     * Time to spend on satisfying the constraints.
+     */
+    @CommandLine.Option(
+            names = {"--time-budget"},
+            paramLabel = "<ms>",
+            description = "Milliseconds to spend on satisfying the constraints, or on "
+                    + "starting new divisions with --starts. Defaults to ${DEFAULT-VALUE}."
+    )
+    private long timeBudget = ConstrainedDivider.DEFAULT_TIME_BUDGET.toMillis();
+
+    /*
+     * Balance the groups on the attribute columns of the students file.
+     */
+    @CommandLine.Option(
+            names = {"--balance"},
+            description = "Balance the groups on the columns after the ID column in the "
+                    + "students file, such as programme or language. Cannot be combined "
+                    + "with --constraints."
+    )
+    private boolean balance;
+
+    /*
+     * Number of random divisions to pick the best one from.
+     */
+    @CommandLine.Option(
+            names = {"--starts"},
+            paramLabel = "<k>",
+            description = "Divide the class up to k times in parallel and keep the best "
+                    + "division according to --objective. Stops at a perfect score or "
+                    + "when the time budget is used up. Cannot be combined with "
+                    + "--constraints or --balance."
+    )
+    private Integer starts;
+
+    /*
+     * What makes one division better than another with --starts.
+     */
+    @CommandLine.Option(
+            names = {"--objective"},
+            description = "What to minimize with --starts: 'names' for students with the "
+                    + "same first name in a group, 'balance' for the imbalance of the "
+                    + "attribute columns, or 'sizes' for the variance of the group sizes. "
+                    + "Defaults to ${DEFAULT-VALUE}."
+    )
+    private String objective = "names";
+
+    /*
+     * Avoid putting students together again, and remember who was together.
+     */
+    @CommandLine.Option(
+            names = {"--history"},
+            description = "Put as few students as possible in a group with someone they "
+                    + "have been in a group with before, according to a history file "
+                    + "next to the students file, and add the new groups to it. Cannot "
+                    + "be combined with --constraints, --balance, or --starts."
+    )
+    private boolean history;
+
+    /*
+     * Format to write the groups in.
+     */
+    @CommandLine.Option(
+            names = {"--format"},
+            description = "Format to write the groups in: 'text', 'csv', or 'jsonl' (a JSON "
+                    + "object per student). Defaults to ${DEFAULT-VALUE}."
+    )
+    private String format = "text";
+
+    /*
+     * File to write the groups to instead of standard output.
+     */
+    @CommandLine.Option(
+            names = {"--output"},
+            paramLabel = "<file>",
+            description = "File to write the groups to. Defaults to standard output."
+    )
+    private Path output;
+
+    /*
+     * Report where the time and allocations go in each stage.
+     */
+    @CommandLine.Option(
+            names = {"--metrics"},
+            description = "Print the time and bytes allocated by each stage of dividing "
+                    + "the class, and the number of groups of each size, to standard error."
+    )
+    private boolean showMetrics;
+
+    /*
+     * Directory or manifest with the classes to divide in batch mode.
+     */
+    @CommandLine.Option(
+            names = {"--batch"},
+            paramLabel = "<dir|manifest>",
+            description = "Divide many classes: every .lst and .csv file in a directory, "
+                    + "or every class in a CSV manifest with columns 'file', "
+                    + "'group size', and 'deviation'. Empty or missing group sizes and "
+                    + "deviations default to -g and -d."
+    )
+    private Path batch;
+
+    /*
+     * Directory to write the groups of each class to in batch mode.
+     */
+    @CommandLine.Option(
+            names = {"--output-dir"},
+            description = "Directory to write the groups of each class to in batch mode. "
+                    + "Defaults to ${DEFAULT-VALUE}."
+    )
+    private Path outputDir = Path.of("groups");
+
+    /*
+     * Run as a local HTTP server instead of dividing a single class.
+     */
+    @CommandLine.Option(
+            names = {"--serve"},
+            description = "Run a local HTTP server that divides classes posted to "
+                    + "/divide and /dividable as CSV or JSON, until stopped."
+    )
+    private boolean serve;
+
+    /*
+     * Port to listen on in server mode.
+     */
+    @CommandLine.Option(
+            names = {"--port"},
+            description = "Port to listen on in server mode. Defaults to ${DEFAULT-VALUE}."
+    )
+    private int port = 8080;
+
+    /*
+     * Number of classes to divide at the same time in batch and server mode.
+     */
+    @CommandLine.Option(
+            names = {"--threads"},
+            description = "Number of classes to divide at the same time in batch and "
+                    + "server mode. Defaults to the number of processors."
+    )
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /*
+     * Seed for the random number generator, to reproduce a division.
+     */
+    @CommandLine.Option(
+            names = {"--seed"},
+            description = "Seed for the random number generator. Dividing the same "
+                    + "class, or batch, with the same options and seed gives the same groups."
+    )
+    private Long seed;
+
     @Spec
     CommandSpec commandSpec; // injected by picocli
 
+    /**
+     * Create a command-line interface; its options are set by picocli.
+     */
+    public ClassDividerCLI() {
+    }
+
     @Override
     public Integer call() {
-        Group<Student> klas = readStudentData();
+        checkOneMode();
+        if (batch != null) {
+            return divideBatch();
+        }
+        if (serve) {
+            return serve();
+        }
+        return divideClass();
+    }
+
+    /**
+     * Divide a single class and print its groups, and then add them to the
+     * class's pairing history if asked for.
+     */
+    private int divideClass() {
+        checkSingleClassArguments();
+        Metrics metrics = new Metrics(showMetrics);
 
-        validateInput(klas);
+        Group<Student> klas = metrics.time("read", this::readStudentData);
 
-        List<Group<Student>> groupSet = divideStudents(klas);
+        metrics.time("validate", () -> validateInput(klas));
 
-        Map<String, Boolean> uniqueFirstName = getUniqueFirstNames(klas);
+        List<Group<Student>> groupSet = metrics.time("divide", () -> divideStudents(klas));
 
-        printGroups(groupSet, uniqueFirstName);
+        metrics.time("print", () -> printGroups(groupSet, klas));
 
+        if (history) {
+            metrics.time("record", () -> recordHistory(groupSet));
+        }
+
+        if (showMetrics) {
+            metrics.report(groupSet, System.err);
+        }
         return 0;
     }
 
+    /**
+     * Check that the options required to divide a single class are given.
+     */
+    private void checkSingleClassArguments() {
+        if (groupSize == null) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Missing required option: '--group-size=<groupSize>'");
+        }
+        if (studentsFile == null) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Missing required parameter: '<studentsFile>'");
+        }
+    }
+
+    /**
+     * Check that at most one mode is chosen: batch, server, or a way of
+     * dividing a single class.
+     */
+    private void checkOneMode() {
+        long modes = Stream.of(batch != null, serve, constraintsFile != null, balance,
+                        starts != null, history)
+                .filter(Boolean::booleanValue)
+                .count();
+        if (modes > 1) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Options '--batch', '--serve', '--constraints', '--balance', '--starts', "
+                            + "and '--history' cannot be combined");
+        }
+    }
+
+    /**
+     * Check that no option is given that batch mode does not use: each class
+     * is divided at random and written as text to the output directory.
+     */
+    private void checkBatchArguments() {
+        var parseResult = commandSpec.commandLine().getParseResult();
+        Stream.of("--snapshot", "--time-budget", "--objective", "--format", "--output",
+                        "--metrics")
+                .filter(parseResult::hasMatchedOption)
+                .findFirst()
+                .ifPresent(option -> {
+                    throw new ParameterException(
+                            commandSpec.commandLine(),
+                            "Option '%s' cannot be used with '--batch'".formatted(option));
+                });
+        if (studentsFile != null) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Parameter '<studentsFile>' cannot be used with '--batch'");
+        }
+    }
+
     /**
      * Read student data from the CSV file.
      */
     private Group<Student> readStudentData() {
         try {
-            return StudentsFile.fromCSV(studentsFile);
+            return useSnapshot
+                    ? StudentsFile.fromCSVCached(studentsFile)
+                    : StudentsFile.fromCSV(studentsFile);
         } catch (IOException e) {
             throw new ParameterException(
                     commandSpec.commandLine(),
@@ -93,167 +354,183 @@ public class ClassDividerCLI implements Callable<Integer> {
      * Validate the user input for group size and deviation.
      */
     private void validateInput(Group<Student> klas) {
-        if (groupSize <= 0) {
-            throw new ParameterException(
-                    commandSpec.commandLine(),
-                    "Group size must be a positive integer.");
+        try {
+            ClassDivider.checkDividable(klas.size(), groupSize, deviation);
+            GroupsWriter.Format.of(format);
+        } catch (IllegalArgumentException e) {
+            throw new ParameterException(commandSpec.commandLine(), e.getMessage());
         }
+    }
 
-        if (deviation >= groupSize || deviation < 0) {
+    /**
+     * Write the groups in the chosen format.
+     */
+    private void printGroups(List<Group<Student>> groupSet, Group<Student> klas) {
+        try {
+            GroupsWriter.print(groupSet, klas, format, output);
+        } catch (IOException e) {
             throw new ParameterException(
                     commandSpec.commandLine(),
-                    "Deviation must be a positive number smaller than group size.");
+                    "Unable to write groups to '%s': %s.".formatted(output, e));
         }
+    }
 
-        if (!isDividable(klas.size(), groupSize, deviation)) {
+    /**
+     * Divide all classes in the batch, report the classes that failed on
+     * standard error, and print the batch's throughput on standard output.
+     */
+    private int divideBatch() {
+        checkBatchArguments();
+        try {
+            var summary = new BatchDivider(outputDir, threads, seed())
+                    .run(batch, groupSize, deviation);
+            summary.failures().forEach(result -> System.err.printf("Failed to divide '%s': %s%n",
+                    result.job().studentsFile(), result.error()));
+            System.out.printf("Divided %d of %d classes (%d students) in %.2f s: "
+                    + "%.1f classes/s, %.0f students/s.%n",
+                    summary.divided(), summary.results().size(), summary.students(),
+                    summary.seconds(), summary.divided() / summary.seconds(),
+                    summary.students() / summary.seconds());
+            return summary.failures().isEmpty() ? 0 : 1;
+        } catch (IOException | IllegalArgumentException e) {
             throw new ParameterException(
                     commandSpec.commandLine(),
-                    "Unable to divide a class of %d into groups of %d+/-%d students."
-                            .formatted(klas.size(), groupSize, deviation)
-            );
+                    "Unable to divide batch '%s': %s.".formatted(batch, e.getMessage()));
         }
     }
 
     /**
-     * Check if it is possible to divide 
-     * the class into groups.
+     * Run the divider server until the JVM is shut down.
      */
-    private boolean isDividable(int total, int groupSize, int deviation) {
-        int nrOfGroups = total / groupSize;
-        int overflow = total % groupSize;
-
-        boolean condition1 = overflow <= nrOfGroups * deviation;
-        boolean condition2 = overflow + nrOfGroups * deviation <= groupSize + deviation;
-        boolean condition3 = overflow >= groupSize - deviation || overflow <= groupSize + deviation;
-
-        return condition1 && condition2 && condition3;
+    private int serve() {
+        try {
+            DividerServer.serve(port, threads);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Unable to start server on port %d: %s.".formatted(port, e.getMessage()));
+        }
     }
 
     /**
      * Divide the class into groups based on the given size and deviation.
      */
-    private List<Group<Student>> divideStudents(Group<Student> klas) {
-        Iterator<Student> students = klas.iterator();
-        List<Group<Student>> groupSet = new ArrayList<>();
-        int nrOfGroups = klas.size() / groupSize;
-        int overflow = klas.size() % groupSize;
-
-        // Fill the groups with the target group size
-        fillGroups(students, groupSet, nrOfGroups);
-
-        // Handle overflow
-        if (nrOfGroups / deviation > overflow) {
-            distributeOverflow(students, groupSet, nrOfGroups, overflow);
-        } else {
-            handleSeparateGroup(students, groupSet, overflow);
+    List<Group<Student>> divideStudents(Group<Student> klas) {
+        if (constraintsFile != null) {
+            return divideConstrained(klas);
         }
-
-        return groupSet;
+        if (balance) {
+            return divideBalanced(klas);
+        }
+        return divideRandomly(klas);
     }
 
     /**
-     * Fill the groups with the target group size.
-     */
-    private void fillGroups(Iterator<Student> students, 
-                            List<Group<Student>> groupSet, int nrOfGroups) {
-        for (int g = 0; g < nrOfGroups; g++) {
-            Group<Student> group = new Group<>();
-            for (int size = 0; size < groupSize; size++) {
-                group.add(students.next());
-            }
-            groupSet.add(group);
+     * Divide the class at random: once, the best of several times, or
+     * avoiding repeat pairings.
+     */
+    private List<Group<Student>> divideRandomly(Group<Student> klas) {
+        if (starts != null) {
+            return divideMultiStart(klas);
         }
-    } 
-    
-    /**
-     * Distribute overflow students to existing groups.
-     */
-    private void distributeOverflow(Iterator<Student> students, 
-                                    List<Group<Student>> groupSet, 
-                                    int nrOfGroups, 
-                                    int overflow) {
-        for (int d = 0; d < deviation && overflow > 0; d++) {
-            for (int g = 0; g < nrOfGroups && overflow > 0; g++) {
-                groupSet.get(g).add(students.next());
-                overflow--;
-            }
+        if (history) {
+            return divideWithHistory(klas);
         }
-    } 
+        return new ArrayList<>(new ClassDivider(seed()).divide(klas, groupSize, deviation));
+    }
 
     /**
-     * Handle separate group when overflow students cannot be distributed evenly.
+     * The seed given on the command line, or else a random one.
      */
-    private void handleSeparateGroup(Iterator<Student> students, 
-                                     List<Group<Student>> groupSet, 
-                                     int overflow) { 
-        Group<Student> separateGroup = new Group<>();
-        for (int i = 0; i < overflow; i++) {
-            separateGroup.add(students.next());
-        }  
-
-        redistributeStudentsToSeparateGroup(groupSet, separateGroup);
-
-        groupSet.add(separateGroup);
+    private long seed() {
+        return seed == null ? ThreadLocalRandom.current().nextLong() : seed;
     }
 
     /**
-     * Redistribute students to the separate group if necessary.
-     */
-    private void redistributeStudentsToSeparateGroup(List<Group<Student>> groupSet, 
-                                                     Group<Student> separateGroup) {
-        for (int d = 0; d < deviation && separateGroup.size() < groupSize - deviation; d++) {
-            int g = groupSet.size();
-
-            while (separateGroup.size() < groupSize - deviation) {
-                g--;
-                Group<Student> group = groupSet.get(g);
-                Student student = group.pick();
-                separateGroup.add(student);
-                group.remove(student);
-            }
+     * Divide the class respecting the constraints, and report the ones that
+     * are not satisfied on standard error.
+     */
+    private List<Group<Student>> divideConstrained(Group<Student> klas) {
+        try {
+            var result = ConstrainedDivider.divide(klas, groupSize, deviation, constraintsFile,
+                    Duration.ofMillis(timeBudget), seed());
+            result.unsatisfied().forEach(
+                    constraint -> System.err.println("Unsatisfied constraint: " + constraint));
+            return result.groups();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Unable to use constraints file '%s': %s"
+                            .formatted(constraintsFile, e.getMessage()));
         }
     }
 
     /**
-     * Get a map of unique first names.
+     * Divide the class balanced on the attributes in the students file.
      */
-    private Map<String, Boolean> getUniqueFirstNames(Group<Student> klas) {
-        Map<String, Boolean> uniqueFirstName = new HashMap<>();
-
-        for (Student student : klas) {
-            if (uniqueFirstName.containsKey(student.firstName())) {
-                uniqueFirstName.put(student.firstName(), false);
-            } else {
-                uniqueFirstName.put(student.firstName(), true);
-            }
+    private List<Group<Student>> divideBalanced(Group<Student> klas) {
+        try {
+            return BalancedDivider.divide(klas, groupSize, deviation, studentsFile, seed());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Unable to read attributes from students file '%s': %s."
+                            .formatted(studentsFile, e.getMessage()));
         }
-
-        return uniqueFirstName;
     }
 
     /**
-     * Print the group set to standard output.
+     * Divide the class several times, keep the best division, and report its
+     * score on standard error.
      */
-    private void printGroups(List<Group<Student>> groupSet, Map<String, 
-                                                              Boolean> uniqueFirstName) {
-        int groupNr = 0;
-
-        for (Group<Student> group : groupSet) {
-            groupNr++;
-            System.out.printf("Group %d:%n", groupNr);
+    private List<Group<Student>> divideMultiStart(Group<Student> klas) {
+        try {
+            var result = MultiStartDivider.divide(klas, groupSize, deviation, studentsFile,
+                    objective, starts, Duration.ofMillis(timeBudget), seed());
+            System.err.printf("Best of %d starts: start %d, %s score %s%n",
+                    result.starts(), result.start() + 1, objective, result.score());
+            return result.groups();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ParameterException(
+                    commandSpec.commandLine(),
+                    "Unable to divide with --starts: %s".formatted(e.getMessage()));
+        }
+    }
 
-            for (Student student : group) {
-                String name = student.firstName();
-                if (!uniqueFirstName.get(student.firstName())) {
-                    name += " " + student.sortName().charAt(0);
-                }
-                System.out.println("- " + name);
-            }
+    /**
+     * Divide the class avoiding repeat pairings, and report the number of
+     * repeat pairings on standard error.
+     */
+    private List<Group<Student>> divideWithHistory(Group<Student> klas) {
+        try {
+            var result = PairingHistory.divide(klas, groupSize, deviation, studentsFile,
+                    seed());
+            System.err.printf("Repeat pairings: %d%n", result.repeats());
+            return result.groups();
+        } catch (IOException e) {
+            throw historyException(e);
+        }
+    }
 
-            System.out.println();
+    /**
+     * Add the groups to the class's pairing history, once they are printed.
+     */
+    private void recordHistory(List<Group<Student>> groupSet) {
+        try {
+            PairingHistory.record(studentsFile, groupSet);
+        } catch (IOException | IllegalArgumentException e) {
+            throw historyException(e);
         }
     }
 
+    private ParameterException historyException(Exception e) {
+        return new ParameterException(
+                commandSpec.commandLine(),
+                "Unable to use pairing history '%s': %s."
+                        .formatted(PairingHistory.pathFor(studentsFile), e.getMessage()));
+    }
+
     public static void main(String[] args) {
         int exitCode = new CommandLine(new ClassDividerCLI()).execute(args);
         System.exit(exitCode);
@@ -0,0 +1,279 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Divide a class into groups while respecting keep-apart and keep-together
+ * constraints.
+ *
+ * Groups get the same sizes as with {@link ClassDivider#divide(Group, int, int)}.
+ * Constraints are satisfied as far as possible within a time budget; the
+ * ones that are not are reported in the {@link Result}. Some constraints
+ * cannot be satisfied at all, for example keeping more students apart than
+ * there are groups, or keeping more students together than fit in a group.
+ */
+public final class ConstrainedDivider {
+
+    /**
+     * Time budget used when none is given.
+     */
+    public static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(1);
+
+    private final Duration timeBudget;
+    private final RandomGenerator random;
+
+    /**
+     * Outcome of a constrained division.
+     *
+     * @param groups the groups; empty if the class cannot be divided
+     * @param unsatisfied the constraints that are not satisfied by the groups
+     */
+    public record Result(List<Group<Student>> groups, List<Constraint> unsatisfied) {
+
+        /**
+         * Determine if all constraints are satisfied.
+         *
+         * @pre true
+         * @return true if no constraint is unsatisfied, false otherwise
+         */
+        public boolean isSatisfied() {
+            return unsatisfied.isEmpty();
+        }
+    }
+
+    /**
+     * Create a divider with the default time budget.
+     */
+    public ConstrainedDivider() {
+        this(DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Create a divider.
+     *
+     * @param timeBudget how long to search for a division that satisfies all
+     *     constraints
+     */
+    public ConstrainedDivider(Duration timeBudget) {
+        this(timeBudget, null);
+    }
+
+    /**
+     * Create a divider with its own random number generator.
+     *
+     * Given enough time to satisfy the constraints or give up, a divider
+     * with a generator seeded the same way gives the same groups. It is not
+     * thread-safe.
+     *
+     * @param timeBudget how long to search for a division that satisfies all
+     *     constraints
+     * @param random random number generator, or null for the default one of
+     *     the dividing thread
+     */
+    public ConstrainedDivider(Duration timeBudget, RandomGenerator random) {
+        this.timeBudget = timeBudget;
+        this.random = random;
+    }
+
+    /**
+     * Divide a class into groups of a given size with a given deviation,
+     * respecting constraints as far as possible.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param constraints constraints on the students in the class
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the groups and the constraints they do not satisfy
+     * @throws IllegalArgumentException when a constraint mentions a student
+     *     that is not in the class
+     */
+    public Result divide(Group<Student> klas, int groupSize, int deviation,
+            List<Constraint> constraints) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int[] sizes = ClassDivider.groupSizes(klas.size(), groupSize, deviation);
+        if (sizes.length == 0) {
+            return new Result(List.of(), List.of());
+        }
+
+        List<Student> students = new ArrayList<>(klas.inOrder());
+        List<int[]> resolved = resolve(students, constraints);
+        ConstraintSolver solver = new ConstraintSolver(
+                conflicts(students.size(), constraints, resolved),
+                units(students.size(), constraints, resolved),
+                sizes, random == null ? Group.random() : random);
+        solver.construct();
+        solver.repair(deadline);
+
+        int[] groupOf = solver.groupOf();
+        return new Result(groups(students, groupOf, sizes.length),
+                unsatisfied(constraints, resolved, groupOf));
+    }
+
+    /**
+     * Divide a class respecting the constraints in a file.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param constraintsFile CSV file with constraints, see {@link ConstraintsFile}
+     * @param timeBudget how long to search for a division that satisfies all
+     *     constraints
+     * @param seed seed for the random number generator
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the groups and the constraints they do not satisfy
+     * @throws IOException when the constraints file cannot be read
+     * @throws IllegalArgumentException when the constraints file is invalid
+     */
+    static Result divide(Group<Student> klas, int groupSize, int deviation,
+            Path constraintsFile, Duration timeBudget, long seed) throws IOException {
+        return new ConstrainedDivider(timeBudget, new SplittableRandom(seed))
+                .divide(klas, groupSize, deviation, ConstraintsFile.fromCSV(constraintsFile));
+    }
+
+    /**
+     * Replace the IDs in each constraint by the indices of the students.
+     */
+    private static List<int[]> resolve(List<Student> students, List<Constraint> constraints) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            index.put(students.get(i).id(), i);
+        }
+
+        List<int[]> resolved = new ArrayList<>(constraints.size());
+        for (Constraint constraint : constraints) {
+            resolved.add(constraint.ids().stream().mapToInt(id -> {
+                Integer i = index.get(id);
+                if (i == null) {
+                    throw new IllegalArgumentException(
+                            "Unknown student '%s' in constraint '%s'.".formatted(id, constraint));
+                }
+                return i;
+            }).toArray());
+        }
+        return resolved;
+    }
+
+    /**
+     * Per student, the students they must be kept apart from.
+     */
+    private static BitSet[] conflicts(int size, List<Constraint> constraints,
+            List<int[]> resolved) {
+        BitSet[] conflicts = new BitSet[size];
+        for (int c = 0; c < constraints.size(); c++) {
+            if (constraints.get(c).kind() != Constraint.Kind.APART) {
+                continue;
+            }
+            for (int a : resolved.get(c)) {
+                for (int b : resolved.get(c)) {
+                    addConflict(conflicts, a, b);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static void addConflict(BitSet[] conflicts, int a, int b) {
+        if (a == b) {
+            return;
+        }
+        if (conflicts[a] == null) {
+            conflicts[a] = new BitSet();
+        }
+        conflicts[a].set(b);
+    }
+
+    /**
+     * Per student, the unit of students that must stay together they belong to.
+     */
+    private static int[] units(int size, List<Constraint> constraints, List<int[]> resolved) {
+        int[] parent = union(size, constraints, resolved);
+
+        // Number the roots consecutively
+        int[] unitOfRoot = new int[size];
+        int units = 0;
+        for (int i = 0; i < size; i++) {
+            if (parent[i] == i) {
+                unitOfRoot[i] = units++;
+            }
+        }
+        int[] unitOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            unitOf[i] = unitOfRoot[root(parent, i)];
+        }
+        return unitOf;
+    }
+
+    /**
+     * Union-find over the keep-together constraints: per student, a student
+     * on the path to the root of the set of students that must stay together.
+     */
+    private static int[] union(int size, List<Constraint> constraints, List<int[]> resolved) {
+        int[] parent = new int[size];
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+        for (int c = 0; c < constraints.size(); c++) {
+            if (constraints.get(c).kind() == Constraint.Kind.TOGETHER) {
+                int[] students = resolved.get(c);
+                for (int student : students) {
+                    parent[root(parent, student)] = root(parent, students[0]);
+                }
+            }
+        }
+        return parent;
+    }
+
+    private static int root(int[] parent, int i) {
+        int root = i;
+        while (parent[root] != root) {
+            parent[root] = parent[parent[root]];
+            root = parent[root];
+        }
+        return root;
+    }
+
+    /**
+     * The groups, which pick and iterate with this divider's generator.
+     */
+    private List<Group<Student>> groups(List<Student> students, int[] groupOf,
+            int count) {
+        List<Group<Student>> groups = new ArrayList<>(count);
+        for (int g = 0; g < count; g++) {
+            groups.add(new Group<>(random));
+        }
+        for (int i = 0; i < students.size(); i++) {
+            groups.get(groupOf[i]).add(students.get(i));
+        }
+        return groups;
+    }
+
+    private static List<Constraint> unsatisfied(List<Constraint> constraints,
+            List<int[]> resolved, int[] groupOf) {
+        List<Constraint> unsatisfied = new ArrayList<>();
+        for (int c = 0; c < constraints.size(); c++) {
+            Set<Integer> groups = new HashSet<>();
+            for (int student : resolved.get(c)) {
+                groups.add(groupOf[student]);
+            }
+            int expected = constraints.get(c).kind() == Constraint.Kind.APART
+                    ? resolved.get(c).length
+                    : 1;
+            if (groups.size() != expected) {
+                unsatisfied.add(constraints.get(c));
+            }
+        }
+        return unsatisfied;
+    }
+}
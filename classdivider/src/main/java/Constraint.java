@@ -0,0 +1,76 @@
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rule about which students may or must share a group.
+ *
+ * @param kind whether the students must be kept apart or together
+ * @param ids IDs of the students the rule is about, at least two and all different
+ */
+public record Constraint(Kind kind, List<String> ids) {
+
+    /**
+     * Kind of constraint.
+     */
+    public enum Kind {
+        /**
+         * No two of the students may share a group.
+         */
+        APART,
+
+        /**
+         * All of the students must be in the same group.
+         */
+        TOGETHER
+    }
+
+    /**
+     * Create a constraint.
+     *
+     * @pre true
+     * @throws IllegalArgumentException when there are fewer than two IDs, or
+     *     an ID occurs more than once
+     */
+    public Constraint {
+        ids = List.copyOf(ids);
+        if (ids.size() < 2) {
+            throw new IllegalArgumentException(
+                    "A constraint needs at least two students: %s.".formatted(ids));
+        }
+        Set<String> seen = new HashSet<>();
+        for (String id : ids) {
+            if (!seen.add(id)) {
+                throw new IllegalArgumentException(
+                        "A constraint names student %s more than once: %s.".formatted(id, ids));
+            }
+        }
+    }
+
+    /**
+     * Create a constraint that no two of the students may share a group.
+     *
+     * @pre true
+     * @param ids IDs of the students
+     * @return the constraint
+     */
+    public static Constraint apart(String... ids) {
+        return new Constraint(Kind.APART, List.of(ids));
+    }
+
+    /**
+     * Create a constraint that all of the students must be in the same group.
+     *
+     * @pre true
+     * @param ids IDs of the students
+     * @return the constraint
+     */
+    public static Constraint together(String... ids) {
+        return new Constraint(Kind.TOGETHER, List.of(ids));
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase() + " " + String.join(", ", ids);
+    }
+}
@@ -0,0 +1,336 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Assign students to groups of fixed sizes, keeping conflicting students apart.
+ *
+ * Students are identified by index. Students that must stay together form a
+ * unit, which is placed and moved as a whole; a student without keep-together
+ * constraints is a unit on their own. The conflict graph has a bit set per
+ * student with the indices of the students they must be kept apart from.
+ *
+ * Units are placed greedily first, largest and most constrained first, each
+ * in the group where it has the fewest conflicts. A unit that fits in no
+ * group is split into single students. Remaining conflicts are then repaired
+ * by swapping units of the same size between groups until no conflicts are
+ * left, the deadline passes, or swapping stops making progress.
+ */
+final class ConstraintSolver {
+
+    /*
+     * Number of random swaps considered per repair step.
+     */
+    private static final int CANDIDATES = 16;
+
+    /*
+     * Number of repair steps without improvement after which repair gives up.
+     */
+    private static final int MAX_STALE_STEPS = 200_000;
+
+    private final BitSet[] conflicts;
+    private final int[] unitOf;
+    private final int[][] unitMembers;
+    private int unitCount;
+    private final int[] unitGroup;
+    private final int[] unitPos;
+    private final int[] groupOf;
+    private final int[] space;
+    private final int[][] groupUnits;
+    private final int[] groupUnitCount;
+    private final int[] hits;
+    private final RandomGenerator random;
+
+    private final int[] violating;
+    private final boolean[] isViolating;
+    private int violatingCount;
+
+    /*
+     * Representation invariant, after construct():
+     * - unitOf[m] == u <==> m in unitMembers[u], for u < unitCount
+     * - groupOf[m] == unitGroup[unitOf[m]]
+     * - groupUnits[g][unitPos[u]] == u for every unit u in group g
+     * - space[g] == group size - number of students in group g
+     */
+
+    /**
+     * Create a solver.
+     *
+     * @param conflicts per student, the students they must be kept apart
+     *     from, or null if none
+     * @param unitOf per student, the unit they belong to, numbered from 0
+     * @param groupSizes size of each group, adding up to the number of students
+     * @param random source of randomness
+     */
+    ConstraintSolver(BitSet[] conflicts, int[] unitOf, int[] groupSizes,
+            RandomGenerator random) {
+        int students = unitOf.length;
+        this.conflicts = conflicts;
+        this.unitOf = unitOf.clone();
+        this.random = random;
+
+        unitCount = Arrays.stream(unitOf).max().orElse(-1) + 1;
+        unitMembers = members(unitOf, unitCount);
+
+        unitGroup = new int[students];
+        unitPos = new int[students];
+        groupOf = new int[students];
+        Arrays.fill(groupOf, -1);
+        space = groupSizes.clone();
+        groupUnits = new int[groupSizes.length][];
+        for (int g = 0; g < groupSizes.length; g++) {
+            groupUnits[g] = new int[groupSizes[g]];
+        }
+        groupUnitCount = new int[groupSizes.length];
+        hits = new int[groupSizes.length];
+
+        violating = new int[students];
+        isViolating = new boolean[students];
+    }
+
+    /**
+     * Per unit, its students; room for as many units as there are students.
+     */
+    private static int[][] members(int[] unitOf, int unitCount) {
+        int[][] members = new int[unitOf.length][];
+        int[] unitSize = new int[unitCount];
+        for (int unit : unitOf) {
+            unitSize[unit]++;
+        }
+        for (int u = 0; u < unitCount; u++) {
+            members[u] = new int[unitSize[u]];
+            unitSize[u] = 0;
+        }
+        for (int m = 0; m < unitOf.length; m++) {
+            members[unitOf[m]][unitSize[unitOf[m]]++] = m;
+        }
+        return members;
+    }
+
+    /**
+     * Place all units greedily.
+     */
+    void construct() {
+        // Random permutation of the units (Fisher-Yates)
+        Integer[] order = new Integer[unitCount];
+        for (int u = 0; u < unitCount; u++) {
+            int j = random.nextInt(0, u + 1);
+            order[u] = order[j];
+            order[j] = u;
+        }
+        // Stable sort, so units of equal size and degree stay in random order
+        Arrays.sort(order, Comparator.<Integer>comparingInt(u -> unitMembers[u].length)
+                .thenComparingInt(this::degree)
+                .reversed());
+
+        for (int u : order) {
+            place(u);
+        }
+    }
+
+    private int degree(int u) {
+        int degree = 0;
+        for (int m : unitMembers[u]) {
+            degree += conflicts[m] == null ? 0 : conflicts[m].cardinality();
+        }
+        return degree;
+    }
+
+    private void place(int u) {
+        int g = bestGroup(u);
+        if (g < 0) {
+            split(u);
+        } else {
+            assign(u, g);
+        }
+    }
+
+    /**
+     * The group with room for the unit where it has the fewest conflicts,
+     * preferring emptier groups; -1 if no group has room.
+     */
+    private int bestGroup(int u) {
+        countHits(u, 1);
+        int best = -1;
+        long bestScore = Long.MAX_VALUE;
+        for (int g = 0; g < space.length; g++) {
+            long score = ((long) hits[g] << Integer.SIZE) - space[g];
+            if (space[g] >= unitMembers[u].length && score < bestScore) {
+                best = g;
+                bestScore = score;
+            }
+        }
+        countHits(u, -1);
+        return best;
+    }
+
+    /**
+     * Add {@code delta} to the hits of each group per placed student the unit conflicts with.
+     */
+    private void countHits(int u, int delta) {
+        for (int m : unitMembers[u]) {
+            BitSet others = conflicts[m];
+            for (int v = others == null ? -1 : others.nextSetBit(0); v >= 0;
+                    v = others.nextSetBit(v + 1)) {
+                if (groupOf[v] >= 0) {
+                    hits[groupOf[v]] += delta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Split a unit into units of single students and place those.
+     */
+    private void split(int u) {
+        int[] members = unitMembers[u];
+        unitMembers[u] = new int[] {members[0]};
+        place(u);
+        for (int i = 1; i < members.length; i++) {
+            int single = unitCount++;
+            unitOf[members[i]] = single;
+            unitMembers[single] = new int[] {members[i]};
+            place(single);
+        }
+    }
+
+    private void assign(int u, int g) {
+        for (int m : unitMembers[u]) {
+            groupOf[m] = g;
+        }
+        unitGroup[u] = g;
+        space[g] -= unitMembers[u].length;
+        unitPos[u] = groupUnitCount[g]++;
+        groupUnits[g][unitPos[u]] = u;
+    }
+
+    /**
+     * Repair conflicts by swapping units until none are left, the deadline
+     * passes, or there has been no improvement for a long time.
+     *
+     * @param deadline {@code System.nanoTime()} at which to stop
+     */
+    void repair(long deadline) {
+        for (int u = 0; u < unitCount; u++) {
+            markIfViolating(u);
+        }
+
+        int staleSteps = 0;
+        while (violatingCount > 0 && isWorthContinuing(staleSteps, deadline)) {
+            int i = random.nextInt(violatingCount);
+            int u = violating[i];
+            int current = conflicts(u, unitGroup[u], -1);
+            if (current == 0) {
+                isViolating[u] = false;
+                violating[i] = violating[--violatingCount];
+            } else {
+                staleSteps = trySwap(u, current) < 0 ? 0 : staleSteps + 1;
+            }
+        }
+    }
+
+    private static boolean isWorthContinuing(int staleSteps, long deadline) {
+        return staleSteps < MAX_STALE_STEPS && System.nanoTime() < deadline;
+    }
+
+    private void markIfViolating(int u) {
+        if (!isViolating[u] && conflicts(u, unitGroup[u], -1) > 0) {
+            isViolating[u] = true;
+            violating[violatingCount++] = u;
+        }
+    }
+
+    /**
+     * Try random swaps of the unit with units of the same size in other
+     * groups, and make the best one if it does not add conflicts.
+     *
+     * @return change in the number of conflicts, 1 if no swap was made
+     */
+    private int trySwap(int u, int current) {
+        int g = unitGroup[u];
+        int best = -1;
+        int bestDelta = 1;
+        for (int attempt = 0; attempt < CANDIDATES; attempt++) {
+            int t = randomUnitOfSize(random.nextInt(space.length), unitMembers[u].length);
+            if (t >= 0 && unitGroup[t] != g) {
+                int h = unitGroup[t];
+                int delta = conflicts(u, h, t) + conflicts(t, g, u)
+                        - current - conflicts(t, h, -1);
+                best = delta < bestDelta ? t : best;
+                bestDelta = Math.min(delta, bestDelta);
+            }
+        }
+
+        if (best >= 0) {
+            swap(u, best);
+            markIfViolating(best);
+        }
+        return bestDelta;
+    }
+
+    /**
+     * A random unit with the given size in a group, -1 if there is none.
+     */
+    private int randomUnitOfSize(int g, int size) {
+        int count = groupUnitCount[g];
+        int offset = random.nextInt(count);
+        for (int i = 0; i < count; i++) {
+            int t = groupUnits[g][(offset + i) % count];
+            if (unitMembers[t].length == size) {
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    private void swap(int u, int t) {
+        int g = unitGroup[u];
+        int h = unitGroup[t];
+        int uPos = unitPos[u];
+        int tPos = unitPos[t];
+        for (int m : unitMembers[u]) {
+            groupOf[m] = h;
+        }
+        for (int m : unitMembers[t]) {
+            groupOf[m] = g;
+        }
+        unitGroup[u] = h;
+        unitGroup[t] = g;
+        unitPos[u] = tPos;
+        unitPos[t] = uPos;
+        groupUnits[h][tPos] = u;
+        groupUnits[g][uPos] = t;
+    }
+
+    /**
+     * Number of conflicts the unit has with students of other units in a
+     * group, not counting the students of unit {@code exclude}.
+     */
+    private int conflicts(int u, int g, int exclude) {
+        int count = 0;
+        for (int m : unitMembers[u]) {
+            count += conflicts(conflicts[m], g, u, exclude);
+        }
+        return count;
+    }
+
+    private int conflicts(BitSet others, int g, int u, int exclude) {
+        int count = 0;
+        for (int v = others == null ? -1 : others.nextSetBit(0); v >= 0;
+                v = others.nextSetBit(v + 1)) {
+            boolean otherUnit = unitOf[v] != u && unitOf[v] != exclude;
+            count += groupOf[v] == g && otherUnit ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * The group of each student.
+     *
+     * @return per student, the index of their group
+     */
+    int[] groupOf() {
+        return groupOf.clone();
+    }
+}
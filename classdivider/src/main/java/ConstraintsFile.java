@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Read constraints from CSV files.
+ *
+ * Each line is one constraint: {@code apart} or {@code together}, followed by
+ * the IDs of two or more students. Empty lines and lines starting with
+ * {@code #} are ignored. For example:
+ *
+ * <pre>
+ * # Siblings
+ * apart,1810541,1810542
+ * together,4805813,2151240,1999771
+ * </pre>
+ */
+public final class ConstraintsFile {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setCommentMarker('#')
+            .setIgnoreSurroundingSpaces(true)
+            .build();
+
+    private ConstraintsFile() {
+    }
+
+    /**
+     * Read the constraints in a CSV file.
+     *
+     * @pre true
+     * @param file path to file with constraints
+     * @return the constraints, in file order
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a line is not a valid constraint
+     */
+    public static List<Constraint> fromCSV(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return fromCSV(CSVParser.parse(reader, CSV_FORMAT));
+        }
+    }
+
+    /**
+     * Read constraints from CSV data.
+     *
+     * @pre true
+     * @param csv constraints in CSV format
+     * @return the constraints, in order
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a line is not a valid constraint
+     */
+    public static List<Constraint> fromCSV(String csv) throws IOException {
+        return fromCSV(CSVParser.parse(csv, CSV_FORMAT));
+    }
+
+    private static List<Constraint> fromCSV(CSVParser records) {
+        List<Constraint> constraints = new ArrayList<>();
+        for (CSVRecord record : records) {
+            constraints.add(toConstraint(record));
+        }
+        return constraints;
+    }
+
+    private static Constraint toConstraint(CSVRecord record) {
+        List<String> fields = record.toList();
+        try {
+            Constraint.Kind kind = Constraint.Kind.valueOf(
+                    fields.get(0).toUpperCase(Locale.ROOT));
+            return new Constraint(kind, fields.subList(1, fields.size()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(("Constraint %d: expected 'apart' or 'together' "
+                    + "followed by two or more different student IDs.")
+                    .formatted(record.getRecordNumber()), e);
+        }
+    }
+}
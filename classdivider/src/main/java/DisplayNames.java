@@ -0,0 +1,130 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The shortest name that tells a student apart from the others in their
+ * class, to show in the groups.
+ *
+ * A student's display name is their first name if no one else in the class
+ * has that first name. Otherwise, it is followed by as many letters of their
+ * {@link Student#sortLastName() sort last name} as needed to tell them apart
+ * from everyone with the same first name: "Jan B" next to "Jan V", but
+ * "Jan Ba" next to "Jan Bo". Students who cannot be told apart that way,
+ * such as two students with the same name, get their full name and ID.
+ *
+ * The names are computed once, in a single pass over the students sorted by
+ * first name and sort last name: the letters needed are one more than the
+ * longest common prefix with either neighbour.
+ */
+public final class DisplayNames {
+
+    private final Map<Student, String> names;
+
+    private DisplayNames(Map<Student, String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Compute the display names of the students in a class.
+     *
+     * @pre true
+     * @param klas the students in the class
+     * @return display names of the students
+     */
+    public static DisplayNames of(Collection<Student> klas) {
+        Student[] students = klas.toArray(new Student[0]);
+        String[] lastNames = new String[students.length];
+        Integer[] order = new Integer[students.length];
+        for (int i = 0; i < students.length; i++) {
+            lastNames[i] = students[i].sortLastName();
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer, String>comparing(i -> students[i].firstName())
+                .thenComparing(i -> lastNames[i]));
+
+        Map<Student, String> names = new HashMap<>();
+        int from = 0;
+        while (from < order.length) {
+            int to = endOfFirstName(students, order, from);
+            for (int at = from; at < to; at++) {
+                names.put(students[order[at]], name(students, lastNames, order, from, to, at));
+            }
+            from = to;
+        }
+        return new DisplayNames(names);
+    }
+
+    /**
+     * Position after the last student with the same first name as the
+     * student at position {@code from}.
+     */
+    private static int endOfFirstName(Student[] students, Integer[] order, int from) {
+        String firstName = students[order[from]].firstName();
+        int to = from + 1;
+        while (to < order.length && students[order[to]].firstName().equals(firstName)) {
+            to++;
+        }
+        return to;
+    }
+
+    /**
+     * Display name of the student at position {@code at} among the students
+     * at positions {@code from} up to {@code to}, who have the same first name.
+     */
+    private static String name(Student[] students, String[] lastNames, Integer[] order,
+            int from, int to, int at) {
+        Student student = students[order[at]];
+        if (to - from == 1) {
+            return student.firstName();
+        }
+        String last = lastNames[order[at]];
+        String before = lastName(lastNames, order, from, to, at - 1);
+        String after = lastName(lastNames, order, from, to, at + 1);
+        if (last.equals(before) || last.equals(after)) {
+            return "%s %s (%s)".formatted(student.firstName(), student.lastName(), student.id());
+        }
+        int letters = Math.max(commonPrefix(last, before), commonPrefix(last, after)) + 1;
+        String shown = last.substring(0, Math.min(last.length(), letters));
+        // An all-lowercase last name, such as "de", has an empty sort last name
+        return (student.firstName() + " " + (shown.isEmpty() ? student.lastName() : shown))
+                .strip();
+    }
+
+    /**
+     * Sort last name of the student at a position, or null if the position
+     * is not between {@code from} and {@code to}.
+     */
+    private static String lastName(String[] lastNames, Integer[] order, int from, int to,
+            int position) {
+        return from <= position && position < to ? lastNames[order[position]] : null;
+    }
+
+    /**
+     * Length of the common prefix of a and b, 0 if b is null.
+     */
+    private static int commonPrefix(String a, String b) {
+        if (b == null) {
+            return 0;
+        }
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * The display name of a student.
+     *
+     * @pre {@code student} is in the class these names were computed for
+     * @param student the student
+     * @return the student's display name
+     */
+    public String get(Student student) {
+        return names.get(student);
+    }
+}
@@ -0,0 +1,299 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server that divides classes, so callers that divide many small
+ * classes do not pay for starting a JVM each time.
+ *
+ * The server only listens on the loopback address. It has two endpoints,
+ * both of which take the class in the request body and the group size and
+ * deviation as query parameters {@code groupSize} (required) and
+ * {@code deviation} (default 1):
+ *
+ * <ul>
+ * <li>{@code POST /dividable} responds with {@code {"dividable": <boolean>,
+ * "students": <number>}}</li>
+ * <li>{@code POST /divide} divides the class like the command-line interface
+ * and responds with {@code {"groups": [[<student>, ...], ...]}}, where each
+ * student is an object with {@code name} (as printed by the command-line
+ * interface), {@code firstName}, {@code lastName}, and {@code id}</li>
+ * </ul>
+ *
+ * A class is sent either as CSV ({@code Content-Type: text/csv}) in the same
+ * format as a students file, or as JSON ({@code Content-Type:
+ * application/json}): an array of objects with {@code firstName},
+ * {@code lastName}, and {@code id}. Invalid requests get a 4xx response with
+ * {@code {"error": <message>}}; a body larger than {@value #MAX_BODY_SIZE}
+ * bytes gets 413. A request the server fails to handle gets 500.
+ */
+public final class DividerServer {
+
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    /**
+     * Maximum size of a request body in bytes, room for a class of some
+     * hundred thousand students.
+     */
+    static final int MAX_BODY_SIZE = 1 << 22;
+
+    /*
+     * The JDK's server writes the response headers and body separately. With
+     * Nagle's algorithm on, the body waits for the client's delayed ACK of
+     * the headers, adding about 40 ms to every request.
+     */
+    private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * A request that cannot be handled, with the HTTP status to respond with.
+     */
+    private static final class HttpError extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Functional interface for an endpoint: compute the response to a request.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+
+        Object respond(HttpExchange exchange) throws IOException;
+    }
+
+    private DividerServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a server on the loopback address.
+     *
+     * @pre true
+     * @param port port to listen on, 0 for any free port
+     * @param threads number of requests to handle at the same time
+     * @return the running server
+     * @throws IOException when the server cannot listen on the port
+     * @throws IllegalArgumentException when {@code threads <= 0}
+     */
+    public static DividerServer start(int port, int threads) throws IOException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be a positive integer.");
+        }
+        if (System.getProperty(NO_DELAY) == null) {
+            System.setProperty(NO_DELAY, "true");
+        }
+        HttpServer server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+
+        DividerServer divider = new DividerServer(server, executor);
+        server.createContext("/dividable", exchange -> divider.handle(exchange,
+                DividerServer::dividable));
+        server.createContext("/divide", exchange -> divider.handle(exchange,
+                DividerServer::divide));
+        server.start();
+        return divider;
+    }
+
+    /**
+     * Start a server and handle requests until the JVM shuts down or the
+     * calling thread is interrupted.
+     *
+     * @pre true
+     * @param port port to listen on, 0 for any free port
+     * @param threads number of requests to handle at the same time
+     * @throws IOException when the server cannot listen on the port
+     * @throws IllegalArgumentException when {@code threads <= 0}
+     */
+    public static void serve(int port, int threads) throws IOException {
+        DividerServer server = start(port, threads);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.printf("Listening on http://localhost:%d/%n", server.port());
+        try {
+            server.awaitStop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.stop();
+        }
+    }
+
+    /**
+     * Port the server listens on.
+     *
+     * @pre true
+     * @return port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stop the server. Requests that are being handled are abandoned.
+     *
+     * @pre true
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    /**
+     * Wait until the server is stopped.
+     *
+     * @pre true
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            int status = OK;
+            Object response;
+            try {
+                checkRequest(exchange);
+                response = endpoint.respond(exchange);
+            } catch (HttpError e) {
+                status = e.status;
+                response = Map.of("error", e.getMessage());
+            } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+                status = BAD_REQUEST;
+                response = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (RuntimeException e) {
+                status = INTERNAL_SERVER_ERROR;
+                response = Map.of("error", "Internal server error.");
+            }
+
+            byte[] body = Json.write(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void checkRequest(HttpExchange exchange) {
+        String context = exchange.getHttpContext().getPath();
+        if (!exchange.getRequestURI().getPath().equals(context)) {
+            throw new HttpError(NOT_FOUND, "Not found.");
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            throw new HttpError(METHOD_NOT_ALLOWED, "Use POST.");
+        }
+    }
+
+    private static Object dividable(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        Group<Student> klas = readClass(exchange);
+        int groupSize = intParameter(query, "groupSize", null);
+        int deviation = intParameter(query, "deviation", 1);
+        boolean dividable = true;
+        try {
+            ClassDivider.checkDividable(klas.size(), groupSize, deviation);
+        } catch (IllegalArgumentException e) {
+            dividable = false;
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("dividable", dividable);
+        response.put("students", klas.size());
+        return response;
+    }
+
+    private static Object divide(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        Group<Student> klas = readClass(exchange);
+        int groupSize = intParameter(query, "groupSize", null);
+        int deviation = intParameter(query, "deviation", 1);
+        ClassDivider.checkDividable(klas.size(), groupSize, deviation);
+
+        List<Group<Student>> groups = new ArrayList<>(
+                new ClassDivider().divide(klas, groupSize, deviation));
+        return Map.of("groups", StudentsJson.toJson(groups, DisplayNames.of(klas.inOrder())));
+    }
+
+    /**
+     * Read the class in the request body, as CSV or as JSON.
+     */
+    private static Group<Student> readClass(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readNBytes(MAX_BODY_SIZE + 1);
+        if (bytes.length > MAX_BODY_SIZE) {
+            throw new HttpError(PAYLOAD_TOO_LARGE,
+                    "Send at most %d bytes.".formatted(MAX_BODY_SIZE));
+        }
+        String body = new String(bytes, StandardCharsets.UTF_8);
+        String contentType = String.valueOf(exchange.getRequestHeaders().getFirst("Content-Type"))
+                .split(";")[0].trim();
+
+        if ("text/csv".equals(contentType)) {
+            return StudentsFile.fromCSV(body);
+        }
+        if ("application/json".equals(contentType)) {
+            return StudentsJson.fromJson(body);
+        }
+        throw new HttpError(UNSUPPORTED_MEDIA_TYPE,
+                "Send the class as text/csv or application/json.");
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            String[] pair = parameter.split("=", 2);
+            parameters.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                    pair.length == 1 ? "" : URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name,
+            Integer defaultValue) {
+        String value = query.get(name);
+        if (value != null) {
+            return Integer.parseInt(value);
+        }
+        if (defaultValue == null) {
+            throw new IllegalArgumentException("Missing query parameter '%s'.".formatted(name));
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,239 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A division of a class into groups that is kept valid while students join
+ * and leave, without dividing the class again.
+ *
+ * On an {@link #update(Collection, Collection) update}, students who leave
+ * are taken out of their group and students who join are put in the smallest
+ * groups. Only when a group then falls outside {@code groupSize +/- deviation},
+ * or the number of groups has to change, are students moved between groups,
+ * as few as needed. Everyone else stays where they were.
+ *
+ * An update takes time proportional to the number of students that join,
+ * leave, or move, not to the size of the class: the division keeps an index
+ * from student to group and the groups ordered by size.
+ */
+public final class Division {
+
+    private final int groupSize;
+    private final int deviation;
+    private final List<Group<Student>> groups;
+    private final Map<Student, Integer> groupOf = new HashMap<>();
+    private final TreeMap<Integer, Set<Integer>> bySize = new TreeMap<>();
+
+    /*
+     * Representation invariant:
+     * - groupOf.get(s) == i <==> groups.get(i).contains(s)
+     * - bySize.get(n) is the set of indices of the groups with n students, and
+     *   is never empty
+     */
+
+    /**
+     * Create a division from existing groups, which are updated in place.
+     *
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @param groups the groups of the division
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @throws IllegalArgumentException when a student is in more than one group
+     */
+    public Division(Collection<Group<Student>> groups, int groupSize, int deviation) {
+        this.groupSize = groupSize;
+        this.deviation = deviation;
+        this.groups = new ArrayList<>(groups);
+        for (int g = 0; g < this.groups.size(); g++) {
+            for (Student student : this.groups.get(g).inOrder()) {
+                if (groupOf.put(student, g) != null) {
+                    throw new IllegalArgumentException(
+                            "Student '%s' is in more than one group.".formatted(student.id()));
+                }
+            }
+            bucket(g).add(g);
+        }
+    }
+
+    /**
+     * The groups of this division.
+     *
+     * @pre true
+     * @return unmodifiable view of the groups
+     */
+    public List<Group<Student>> groups() {
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * Number of students in this division.
+     *
+     * @pre true
+     * @return number of students
+     */
+    public int size() {
+        return groupOf.size();
+    }
+
+    /**
+     * Let students join and leave, and repair the division with as few moves
+     * as possible.
+     *
+     * Students in {@code removed} who are not in the division, and students
+     * in {@code added} who already are, are ignored. The number of groups
+     * stays the same unless the class has become too large or too small for
+     * it; then groups are added or the smallest groups are dissolved.
+     *
+     * @pre true
+     * @param added students who join
+     * @param removed students who leave
+     * @return number of students moved from one group to another
+     * @throws IllegalArgumentException when the class cannot be divided
+     *     anymore; the division is not changed
+     */
+    public int update(Collection<Student> added, Collection<Student> removed) {
+        Set<Student> joining = new LinkedHashSet<>(added);
+        joining.removeAll(groupOf.keySet());
+        Set<Student> leaving = new LinkedHashSet<>(removed);
+        leaving.retainAll(groupOf.keySet());
+
+        int newSize = size() + joining.size() - leaving.size();
+        GroupCountRange range = GroupCountRange.of(newSize, groupSize, deviation);
+        if (range.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unable to divide a class of %d into groups of %d+/-%d students."
+                            .formatted(newSize, groupSize, deviation));
+        }
+
+        for (Student student : leaving) {
+            leave(student);
+        }
+        int moves = resize(range);
+        for (Student student : joining) {
+            join(student, smallest());
+        }
+        return moves + balance();
+    }
+
+    /**
+     * Add or dissolve groups until the number of groups is in the range.
+     *
+     * @return number of students moved
+     */
+    private int resize(GroupCountRange range) {
+        while (groups.size() < range.min()) {
+            addGroup();
+        }
+        int moves = 0;
+        while (groups.size() > range.max()) {
+            moves += dissolveSmallest();
+        }
+        return moves;
+    }
+
+    /**
+     * Move students from the largest to the smallest groups until all groups
+     * are within the deviation and none is empty.
+     *
+     * @return number of students moved
+     */
+    private int balance() {
+        int minSize = Math.max(1, groupSize - deviation);
+        int moves = 0;
+        while (bySize.firstKey() < minSize || bySize.lastKey() > groupSize + deviation) {
+            int from = largest();
+            Student student = groups.get(from).pick();
+            leave(student);
+            join(student, smallest());
+            moves++;
+        }
+        return moves;
+    }
+
+    /**
+     * Move all students of the smallest group to other groups and remove it.
+     *
+     * @return number of students moved
+     */
+    private int dissolveSmallest() {
+        int g = smallest();
+        List<Student> students = new ArrayList<>(groups.get(g).inOrder());
+        for (Student student : students) {
+            leave(student);
+        }
+        removeEmptyGroup(g);
+        for (Student student : students) {
+            join(student, smallest());
+        }
+        return students.size();
+    }
+
+    private void addGroup() {
+        groups.add(new Group<>());
+        bucket(groups.size() - 1).add(groups.size() - 1);
+    }
+
+    /**
+     * Remove an empty group by moving the last group into its place.
+     */
+    private void removeEmptyGroup(int g) {
+        int last = groups.size() - 1;
+        unbucket(g);
+        if (g != last) {
+            unbucket(last);
+            groups.set(g, groups.get(last));
+            for (Student student : groups.get(g).inOrder()) {
+                groupOf.put(student, g);
+            }
+            bucket(g).add(g);
+        }
+        groups.remove(last);
+    }
+
+    private void join(Student student, int g) {
+        unbucket(g);
+        groups.get(g).add(student);
+        groupOf.put(student, g);
+        bucket(g).add(g);
+    }
+
+    private void leave(Student student) {
+        int g = groupOf.remove(student);
+        unbucket(g);
+        groups.get(g).remove(student);
+        bucket(g).add(g);
+    }
+
+    private int smallest() {
+        return bySize.firstEntry().getValue().iterator().next();
+    }
+
+    private int largest() {
+        return bySize.lastEntry().getValue().iterator().next();
+    }
+
+    /**
+     * The set of groups with the same size as group {@code g}.
+     */
+    private Set<Integer> bucket(int g) {
+        return bySize.computeIfAbsent(groups.get(g).size(), size -> new LinkedHashSet<>());
+    }
+
+    /**
+     * Take group {@code g} out of its bucket, before its size changes.
+     */
+    private void unbucket(int g) {
+        Set<Integer> bucket = bySize.get(groups.get(g).size());
+        bucket.remove(g);
+        if (bucket.isEmpty()) {
+            bySize.remove(groups.get(g).size());
+        }
+    }
+}
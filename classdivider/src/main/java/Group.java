@@ -1,9 +1,14 @@
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 /**
@@ -11,31 +16,42 @@ import java.util.stream.Collectors;
  *
  * A {@code Group} is a set.
  *
+ * Picking and iterating are random. By default, each thread uses its own
+ * random number generator, so groups can be used in parallel without
+ * contention. For reproducible results, give a group or a single iteration
+ * its own generator, for example a {@link java.util.SplittableRandom} per
+ * division.
+ *
  * @author Huub de Beer
  * @param <T> group member type
  */
 public class Group<T> implements Set<T> {
 
-    private static Random RNG = new Random();
-
     /**
-     * Set the seed for the random number generator used to randomly pick members
-     * from this group.
-     *
-     * Note. Use for testing purposes.
+     * The default random number generator for the current thread.
      *
-     * @param seed seed for random number generator
+     * @return random number generator
      */
-    protected static void setRandomSeed(long seed) {
-        Group.RNG = new Random(seed);
+    static RandomGenerator random() {
+        return ThreadLocalRandom.current();
     }
 
+    private final Map<T, Integer> index;
     private final List<T> members;
+    private final RandomGenerator random;
 
     /*
      * Model: {@code {m|this.contains(m)}}
      *
-     * Abstraction function: AF(this) = {m|members.contains(m)}
+     * Abstraction function: AF(this) = {m|index.containsKey(m)}
+     *
+     * Representation invariant:
+     * - index.size() == members.size()
+     * - (\forall m; index.containsKey(m); members.get(index.get(m)).equals(m))
+     *
+     * The index keeps insertion order (for toString and toArray) and gives
+     * O(1) membership tests, while members is a dense array to pick from at
+     * random in O(1). A null random means the default generator.
      */
 
     /**
@@ -44,7 +60,24 @@ public class Group<T> implements Set<T> {
      * @pre true
      */
     public Group() {
+        this(null);
+    }
+
+    /**
+     * Create a new empty group that picks and iterates with its own random
+     * number generator.
+     *
+     * @pre true
+     * @param random random number generator, or null for the default one
+     */
+    public Group(RandomGenerator random) {
+        index = new LinkedHashMap<>();
         members = new ArrayList<>();
+        this.random = random;
+    }
+
+    private RandomGenerator generator() {
+        return random == null ? Group.random() : random;
     }
 
     /**
@@ -83,12 +116,12 @@ public class Group<T> implements Set<T> {
         if (isEmpty()) {
             throw new IllegalStateException("Cannot pick an member from an empty group.");
         }
-        return members.get(Group.RNG.nextInt(0, size()));
+        return members.get(generator().nextInt(0, size()));
     }
 
     @Override
     public String toString() {
-        return members.stream().map(Object::toString).collect(Collectors.joining("; "));
+        return index.keySet().stream().map(Object::toString).collect(Collectors.joining("; "));
     }
 
     /**
@@ -101,7 +134,8 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean add(T member) {
-        if (!members.contains(member)) {
+        if (!index.containsKey(member)) {
+            index.put(member, members.size());
             members.add(member);
             return true;
         } else {
@@ -110,39 +144,81 @@ public class Group<T> implements Set<T> {
     }
 
     // Iterate over the members in this group in a random order.
+    //
+    // The iterator shuffles a snapshot of the members incrementally
+    // (Fisher-Yates): each call to next() swaps a random not yet visited
+    // member to the front of the unvisited part. A full traversal takes O(N)
+    // time and a single allocation.
     private class RandomIterator implements Iterator<T> {
-        List<T> alreadyPicked;
+        private final Object[] order;
+        private final RandomGenerator random;
+        private int visited;
 
-        public RandomIterator() {
-            alreadyPicked = new ArrayList<>();
+        RandomIterator(RandomGenerator random) {
+            order = members.toArray();
+            this.random = random;
+            visited = 0;
         }
 
         @Override
         public boolean hasNext() {
-            return members.size() != alreadyPicked.size();
+            return visited < order.length;
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public T next() {
-            List<T> candidates = members
-                .stream()
-                .filter(s -> !alreadyPicked.contains(s))
-                .toList();
-
-            T pick = candidates.get(RNG.nextInt(0, candidates.size()));
-            alreadyPicked.add(pick);
-            return pick;
+            if (!hasNext()) {
+                throw new NoSuchElementException("All members have been visited.");
+            }
+
+            int pick = random.nextInt(visited, order.length);
+            Object member = order[pick];
+            order[pick] = order[visited];
+            order[visited] = member;
+            visited++;
+            return (T) member;
         }
     }
 
     /**
      * Iterate over the members in this group in random order.
      *
+     * The order is fixed by this group's random number generator, see
+     * {@link #Group(RandomGenerator)}.
+     * Changes to this group after creating the iterator are not reflected by
+     * the iterator.
+     *
      * @return random iterator
      */
     @Override
     public Iterator<T> iterator() {
-        return new RandomIterator();
+        return new RandomIterator(generator());
+    }
+
+    /**
+     * Iterate over the members in this group in an order fixed by a given
+     * random number generator.
+     *
+     * @pre {@code random != null}
+     * @param random random number generator to shuffle the members with
+     * @return random iterator
+     */
+    public Iterator<T> iterator(RandomGenerator random) {
+        return new RandomIterator(random);
+    }
+
+    /**
+     * The members of this group in the order they were added.
+     *
+     * Unlike {@link #iterator()}, iterating over the result visits the members
+     * in a stable order. The result is a read-only view on this group.
+     *
+     * @pre {@code true}
+     * @return the members of this group in insertion order
+     */
+    public Collection<T> inOrder() {
+        return Collections.unmodifiableSet(index.keySet());
     }
 
     /**
@@ -169,6 +245,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public void clear() {
+        this.index.clear();
         this.members.clear();
     }
 
@@ -182,7 +259,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean contains(Object member) {
-        return this.members.contains(member);
+        return this.index.containsKey(member);
     }
 
     /**
@@ -195,7 +272,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean containsAll(Collection<?> members) {
-        return this.members.containsAll(members);
+        return this.index.keySet().containsAll(members);
     }
 
     /**
@@ -211,7 +288,18 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean remove(Object member) {
-        return this.members.remove(member);
+        Integer position = this.index.remove(member);
+        if (position == null) {
+            return false;
+        }
+
+        // Fill the hole with the last member to keep members dense.
+        T last = this.members.remove(this.members.size() - 1);
+        if (position < this.members.size()) {
+            this.members.set(position, last);
+            this.index.put(last, position);
+        }
+        return true;
     }
 
     /**
@@ -227,7 +315,11 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean removeAll(Collection<?> members) {
-        return this.members.removeAll(members);
+        boolean changed = false;
+        for (Object member : members) {
+            changed |= remove(member);
+        }
+        return changed;
     }
 
     /**
@@ -243,7 +335,13 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public boolean retainAll(Collection<?> members) {
-        return this.members.retainAll(members);
+        List<T> removed = new ArrayList<>();
+        for (T member : this.index.keySet()) {
+            if (!members.contains(member)) {
+                removed.add(member);
+            }
+        }
+        return removeAll(removed);
     }
 
     /**
@@ -259,7 +357,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public Object[] toArray() {
-        return this.members.toArray();
+        return this.index.keySet().toArray();
     }
 
     /**
@@ -276,7 +374,7 @@ public class Group<T> implements Set<T> {
      */
     @Override
     public <U> U[] toArray(U[] memberArray) {
-        return this.members.toArray(memberArray);
+        return this.index.keySet().toArray(memberArray);
     }
 
     /**
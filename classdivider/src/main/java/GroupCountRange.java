@@ -0,0 +1,70 @@
+/**
+ * Range of group counts into which a class of students can be divided.
+ *
+ * A class of {@code classSize} students can be divided into {@code k} groups
+ * of {@code groupSize} +/- {@code deviation} students if and only if
+ * {@code k * minSize <= classSize <= k * maxSize}, with
+ * {@code minSize = max(1, groupSize - deviation)} and
+ * {@code maxSize = groupSize + deviation}. Hence, the feasible group counts
+ * are exactly {@code ceil(classSize / maxSize) <= k <= floor(classSize / minSize)},
+ * which is computed in constant time.
+ *
+ * @param min smallest feasible number of groups
+ * @param max largest feasible number of groups
+ */
+public record GroupCountRange(int min, int max) {
+
+    /**
+     * The empty range: there is no feasible number of groups.
+     */
+    public static final GroupCountRange EMPTY = new GroupCountRange(1, 0);
+
+    /**
+     * Compute the range of feasible group counts.
+     *
+     * @param classSize number of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre true
+     * @post {@code (\forall k; \result.contains(k);
+     *     k * max(1, groupSize - deviation) <= classSize
+     *     && classSize <= k * (groupSize + deviation))}
+     * @return the range of feasible group counts, {@link #EMPTY} if there is none
+     */
+    public static GroupCountRange of(int classSize, int groupSize, int deviation) {
+        if (classSize <= 0 || groupSize <= 0 || deviation < 0) {
+            return EMPTY;
+        }
+
+        long minSize = Math.max(1L, (long) groupSize - deviation);
+        long maxSize = (long) groupSize + deviation;
+
+        long min = (classSize + maxSize - 1) / maxSize;
+        long max = classSize / minSize;
+
+        return min <= max ? new GroupCountRange((int) min, (int) max) : EMPTY;
+    }
+
+    /**
+     * Determine if this range is empty.
+     *
+     * @pre true
+     * @return true if there is no feasible number of groups, false otherwise
+     */
+    public boolean isEmpty() {
+        return min > max;
+    }
+
+    /**
+     * Determine if a group count is in this range.
+     *
+     * @param groupCount number of groups
+     * @pre true
+     * @return true if {@code min <= groupCount <= max}, false otherwise
+     */
+    public boolean contains(int groupCount) {
+        return min <= groupCount && groupCount <= max;
+    }
+
+}
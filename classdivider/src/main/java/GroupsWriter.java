@@ -0,0 +1,320 @@
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Write divided groups, as text for people to read, as CSV, or as JSON Lines.
+ *
+ * Output is rendered into a byte buffer that is reused for every write and
+ * written to the channel only when it is full or flushed, so a large
+ * division takes a few large writes instead of a synchronized print per
+ * student. Names and IDs are copied into the buffer character by character;
+ * only strings with non-ASCII characters or characters that need escaping
+ * are converted on the heap first.
+ */
+public final class GroupsWriter implements Flushable {
+
+    /**
+     * Size of the buffer used when none is given.
+     */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    private static final String CSV_SPECIAL = ",\"\r\n";
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Output format of the groups.
+     */
+    public enum Format {
+
+        /**
+         * Per group, a numbered header and the display names of its
+         * students, followed by an empty line.
+         */
+        TEXT {
+            @Override
+            void group(GroupsWriter out, int groupNr) throws IOException {
+                out.put("Group ").put(groupNr).put(":").put(System.lineSeparator());
+            }
+
+            @Override
+            void student(GroupsWriter out, int groupNr, Student student, String name)
+                    throws IOException {
+                out.put("- ").put(name).put(System.lineSeparator());
+            }
+
+            @Override
+            void groupEnd(GroupsWriter out) throws IOException {
+                out.put(System.lineSeparator());
+            }
+        },
+
+        /**
+         * A header, followed by a record per student with their group number,
+         * display name, first name, last name, and ID.
+         */
+        CSV {
+            @Override
+            void header(GroupsWriter out) throws IOException {
+                out.put("group,name,first name,last name,ID\r\n");
+            }
+
+            @Override
+            void student(GroupsWriter out, int groupNr, Student student, String name)
+                    throws IOException {
+                out.put(groupNr).put(",").putCsv(name)
+                        .put(",").putCsv(student.firstName())
+                        .put(",").putCsv(student.lastName())
+                        .put(",").putCsv(student.id()).put("\r\n");
+            }
+        },
+
+        /**
+         * A JSON object per student, on a line of its own, with their
+         * {@code group} number, display {@code name}, {@code firstName},
+         * {@code lastName}, and {@code id}.
+         */
+        JSONL {
+            @Override
+            void student(GroupsWriter out, int groupNr, Student student, String name)
+                    throws IOException {
+                out.put("{\"group\":").put(groupNr)
+                        .put(",\"name\":").putJson(name)
+                        .put(",\"firstName\":").putJson(student.firstName())
+                        .put(",\"lastName\":").putJson(student.lastName())
+                        .put(",\"id\":").putJson(student.id()).put("}\n");
+            }
+        };
+
+        /**
+         * The format with a given name, ignoring case.
+         *
+         * @pre true
+         * @param name name of the format: text, csv, or jsonl
+         * @return the format
+         * @throws IllegalArgumentException when there is no such format
+         */
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Unknown format '%s', expected text, csv, or jsonl".formatted(name), e);
+            }
+        }
+
+        void header(GroupsWriter out) throws IOException {
+        }
+
+        void group(GroupsWriter out, int groupNr) throws IOException {
+        }
+
+        abstract void student(GroupsWriter out, int groupNr, Student student, String name)
+                throws IOException;
+
+        void groupEnd(GroupsWriter out) throws IOException {
+        }
+    }
+
+    /**
+     * Create a writer with a buffer of the default capacity.
+     *
+     * @param channel channel to write to; it is not closed by this writer
+     */
+    public GroupsWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a writer.
+     *
+     * @param channel channel to write to; it is not closed by this writer
+     * @param capacity size of the buffer in bytes
+     * @pre {@code 0 < capacity}
+     */
+    public GroupsWriter(WritableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Write groups in a format. Output may stay in the buffer until the next
+     * write fills it or the writer is flushed.
+     *
+     * @pre true
+     * @param groups the groups
+     * @param names display names of the students in the groups
+     * @param format the format
+     * @throws IOException when an I/O error occurs
+     */
+    public void write(List<Group<Student>> groups, DisplayNames names, Format format)
+            throws IOException {
+        format.header(this);
+        int groupNr = 0;
+        for (Group<Student> group : groups) {
+            groupNr++;
+            format.group(this, groupNr);
+            for (Student student : group) {
+                format.student(this, groupNr, student, names.get(student));
+            }
+            format.groupEnd(this);
+        }
+    }
+
+    /**
+     * Write groups in a format to a file, replacing it if it exists.
+     *
+     * @pre true
+     * @param groups the groups
+     * @param names display names of the students in the groups
+     * @param format the format
+     * @param file path to the file
+     * @throws IOException when an I/O error occurs
+     */
+    public static void write(List<Group<Student>> groups, DisplayNames names, Format format,
+            Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            GroupsWriter writer = new GroupsWriter(channel);
+            writer.write(groups, names, format);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Write the groups of a class in the format with a given name to a file,
+     * or to standard output.
+     *
+     * @pre true
+     * @param groups the groups
+     * @param klas the class that was divided
+     * @param format name of the format, see {@link Format#of(String)}
+     * @param file path to the file, or null for standard output
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when the format is unknown
+     */
+    static void print(List<Group<Student>> groups, Group<Student> klas, String format,
+            Path file) throws IOException {
+        DisplayNames names = DisplayNames.of(klas.inOrder());
+        if (file != null) {
+            write(groups, names, Format.of(format), file);
+            return;
+        }
+        GroupsWriter writer = new GroupsWriter(Channels.newChannel(System.out));
+        writer.write(groups, names, Format.of(format));
+        writer.flush();
+        System.out.flush();
+    }
+
+    /**
+     * Write everything in the buffer to the channel.
+     *
+     * @throws IOException when an I/O error occurs
+     */
+    @Override
+    public void flush() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, position);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        position = 0;
+    }
+
+    private GroupsWriter put(String string) throws IOException {
+        int length = string.length();
+        if (length > buffer.length - position) {
+            flush();
+        }
+        if (length > buffer.length) {
+            return put(string.getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x80) {
+                // A surrogate pair starts at a non-ASCII character, so it is never split
+                return put(string.substring(i).getBytes(StandardCharsets.UTF_8));
+            }
+            buffer[position++] = (byte) c;
+        }
+        return this;
+    }
+
+    private GroupsWriter put(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (position == buffer.length) {
+                flush();
+            }
+            int length = Math.min(buffer.length - position, bytes.length - offset);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+            offset += length;
+        }
+        return this;
+    }
+
+    /**
+     * Put a non-negative number in decimal, without creating a string.
+     */
+    private GroupsWriter put(int number) throws IOException {
+        if (number >= 10) {
+            put(number / 10);
+        }
+        if (position == buffer.length) {
+            flush();
+        }
+        buffer[position++] = (byte) ('0' + number % 10);
+        return this;
+    }
+
+    /**
+     * Put a CSV field, quoted if it contains a separator, quote, or line break.
+     */
+    private GroupsWriter putCsv(String field) throws IOException {
+        for (int i = 0; i < field.length(); i++) {
+            if (CSV_SPECIAL.indexOf(field.charAt(i)) >= 0) {
+                return put("\"").put(field.replace("\"", "\"\"")).put("\"");
+            }
+        }
+        return put(field);
+    }
+
+    /**
+     * Put a JSON string, escaping quotes, backslashes, and control characters.
+     */
+    private GroupsWriter putJson(String string) throws IOException {
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\' || c < ' ') {
+                return put(escapeJson(string));
+            }
+        }
+        return put("\"").put(string).put("\"");
+    }
+
+    private static String escapeJson(String string) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append("\\u%04x".formatted((int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.append('"').toString();
+    }
+}
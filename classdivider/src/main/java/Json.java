@@ -0,0 +1,261 @@
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and writer for the divider server's payloads.
+ *
+ * JSON values are represented by plain Java values: objects by a
+ * {@code Map<String, Object>} (in document order), arrays by a
+ * {@code List<Object>}, strings by a {@code String}, numbers by a
+ * {@code BigDecimal}, booleans by a {@code Boolean}, and null by
+ * {@code null}.
+ *
+ * The reader is recursive, so it limits how deeply arrays and objects are
+ * nested, to {@value #MAX_DEPTH} levels, rather than overflow the stack.
+ */
+final class Json {
+
+    /**
+     * Maximum number of arrays and objects the reader nests.
+     */
+    static final int MAX_DEPTH = 100;
+
+    private static final String ESCAPES = "\"\\/bfnrt";
+    private static final String ESCAPED = "\"\\/\b\f\n\r\t";
+
+    private final String text;
+    private int pos;
+    private int depth;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parse a JSON document.
+     *
+     * @throws IllegalArgumentException when the text is not valid JSON or
+     * nests arrays and objects more than {@value #MAX_DEPTH} levels deep
+     */
+    static Object parse(String text) {
+        Json json = new Json(text);
+        Object value = json.value();
+        json.skipWhitespace();
+        if (json.pos < text.length()) {
+            throw json.error("end of input");
+        }
+        return value;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        char c = peek();
+        if (c == '{' || c == '[') {
+            return nested(c);
+        }
+        if (c == '"') {
+            return string();
+        }
+        return literal();
+    }
+
+    private Object nested(char open) {
+        if (++depth > MAX_DEPTH) {
+            throw new IllegalArgumentException(
+                    "Invalid JSON: nested more than %d levels deep at position %d."
+                            .formatted(MAX_DEPTH, pos));
+        }
+        Object value = open == '{' ? object() : array();
+        depth--;
+        return value;
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        expect('{');
+        skipWhitespace();
+        if (tryExpect('}')) {
+            return object;
+        }
+        do {
+            skipWhitespace();
+            String key = string();
+            skipWhitespace();
+            expect(':');
+            object.put(key, value());
+            skipWhitespace();
+        } while (tryExpect(','));
+        expect('}');
+        return object;
+    }
+
+    private List<Object> array() {
+        List<Object> array = new ArrayList<>();
+        expect('[');
+        skipWhitespace();
+        if (tryExpect(']')) {
+            return array;
+        }
+        do {
+            array.add(value());
+            skipWhitespace();
+        } while (tryExpect(','));
+        expect(']');
+        return array;
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder string = new StringBuilder();
+        for (char c = next(); c != '"'; c = next()) {
+            if (c < ' ') {
+                throw error("no control characters in a string");
+            }
+            string.append(c == '\\' ? escape() : c);
+        }
+        return string.toString();
+    }
+
+    private char escape() {
+        char c = next();
+        if (c == 'u' && pos + 4 <= text.length()) {
+            pos += 4;
+            return (char) Integer.parseInt(text.substring(pos - 4, pos), 16);
+        }
+        int escape = ESCAPES.indexOf(c);
+        if (escape < 0) {
+            throw error("a valid escape sequence");
+        }
+        return ESCAPED.charAt(escape);
+    }
+
+    private Object literal() {
+        for (Object constant : new Object[] {true, false, null}) {
+            String name = String.valueOf(constant);
+            if (text.startsWith(name, pos)) {
+                pos += name.length();
+                return constant;
+            }
+        }
+        return number();
+    }
+
+    private BigDecimal number() {
+        int start = pos;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return new BigDecimal(text.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("a value");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("a value");
+        }
+        return text.charAt(pos);
+    }
+
+    private char next() {
+        char c = peek();
+        pos++;
+        return c;
+    }
+
+    private boolean tryExpect(char c) {
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!tryExpect(c)) {
+            throw error("'" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return new IllegalArgumentException(
+                "Invalid JSON: expected %s at position %d.".formatted(expected, pos));
+    }
+
+    /**
+     * Write a value as JSON.
+     *
+     * Maps are written as objects, iterables as arrays, strings as strings,
+     * and any other value by its {@code toString()}, which suits numbers and
+     * booleans.
+     */
+    static String write(Object value) {
+        StringBuilder json = new StringBuilder();
+        write(json, value);
+        return json.toString();
+    }
+
+    private static void write(StringBuilder json, Object value) {
+        if (value instanceof Map<?, ?> object) {
+            writeObject(json, object);
+        } else if (value instanceof Iterable<?> array) {
+            writeArray(json, array);
+        } else if (value instanceof String string) {
+            writeString(json, string);
+        } else {
+            json.append(value);
+        }
+    }
+
+    private static void writeObject(StringBuilder json, Map<?, ?> object) {
+        json.append('{');
+        String separator = "";
+        for (Map.Entry<?, ?> entry : object.entrySet()) {
+            json.append(separator);
+            writeString(json, String.valueOf(entry.getKey()));
+            json.append(':');
+            write(json, entry.getValue());
+            separator = ",";
+        }
+        json.append('}');
+    }
+
+    private static void writeArray(StringBuilder json, Iterable<?> array) {
+        json.append('[');
+        String separator = "";
+        for (Object element : array) {
+            json.append(separator);
+            write(json, element);
+            separator = ",";
+        }
+        json.append(']');
+    }
+
+    private static void writeString(StringBuilder json, String string) {
+        json.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            int escape = ESCAPED.indexOf(c);
+            if (escape >= 0) {
+                json.append('\\').append(ESCAPES.charAt(escape));
+            } else if (c < ' ') {
+                json.append("\\u%04x".formatted((int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
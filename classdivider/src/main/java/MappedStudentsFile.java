@@ -0,0 +1,523 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Memory-mapped, read-only view of a CSV file with student information.
+ *
+ * Opening the file maps it into memory and scans the mapped bytes once for
+ * field and record delimiters. Only the positions of the fields are stored;
+ * a field's {@code String} is created when it is asked for. As the mapping is
+ * backed by the operating system's page cache, reopening the same file is
+ * cheap.
+ *
+ * The file has the same format as read by {@link StudentsFile}: a header
+ * record followed by records with first name, last name, and ID. Fields may be
+ * quoted, and quoted fields may contain delimiters, line breaks, and escaped
+ * quotes ({@code ""}). Empty lines are ignored, as is a leading UTF-8 byte
+ * order mark. Values after the third field of a record are ignored.
+ *
+ * Files are mapped as a single region, so they cannot be larger than 2 GiB.
+ *
+ * Large files can be scanned and converted in parallel, see
+ * {@link #openParallel(Path)} and {@link #toGroupParallel()}.
+ */
+public final class MappedStudentsFile {
+
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    /*
+     * Number of fields stored per record: first name, last name, and ID.
+     */
+    static final int FIELDS = 3;
+
+    /*
+     * Smallest chunk of bytes worth scanning on its own thread.
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private final ByteBuffer bytes;
+    private final Index index;
+
+    /*
+     * Record 0 in the index is the header, so student i is record i + first.
+     */
+    private final int first;
+
+    /**
+     * Create a view on the indexed records in bytes.
+     */
+    MappedStudentsFile(ByteBuffer bytes, Index index) {
+        this.bytes = bytes;
+        this.index = index;
+        this.first = Math.min(1, index.size);
+    }
+
+    /**
+     * Map a CSV file with student information and index its records.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return view on the students in the file
+     * @throws IOException when an I/O error occurs, the file is too large to
+     * map, a record has fewer than three fields, or a quoted field is not
+     * closed or followed by something other than a delimiter
+     */
+    public static MappedStudentsFile open(Path file) throws IOException {
+        ByteBuffer bytes = map(file);
+        return new MappedStudentsFile(bytes, scan(bytes, dataStart(bytes), bytes.limit()));
+    }
+
+    /**
+     * Map a CSV file with student information and index its records in parallel.
+     *
+     * The file is split into chunks at record boundaries, taking quoted
+     * fields with line breaks into account, and the chunks are scanned on the
+     * common fork-join pool. The result is the same as {@link #open(Path)}.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return view on the students in the file
+     * @throws IOException when an I/O error occurs, the file is too large to
+     * map, a record has fewer than three fields, or a quoted field is not
+     * closed or followed by something other than a delimiter
+     */
+    public static MappedStudentsFile openParallel(Path file) throws IOException {
+        ByteBuffer bytes = map(file);
+        int from = dataStart(bytes);
+        int to = bytes.limit();
+        int chunks = Math.max(1, Math.min(
+                4 * Runtime.getRuntime().availableProcessors(),
+                (to - from) / MIN_CHUNK_SIZE));
+        return new MappedStudentsFile(bytes, scanParallel(bytes, from, to, chunks));
+    }
+
+    /**
+     * Map a file read-only into memory.
+     */
+    static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("File '%s' is too large to map (%d bytes)."
+                        .formatted(file, length));
+            }
+            // The mapping stays valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    /**
+     * Number of students in this file.
+     *
+     * @pre true
+     * @return number of student records, not counting the header
+     */
+    public int size() {
+        return index.size - first;
+    }
+
+    /**
+     * First name of the i-th student in this file.
+     *
+     * @param i index of student
+     * @pre {@code 0 <= i < size()}
+     * @return first name
+     */
+    public String firstName(int i) {
+        return field(i, 0);
+    }
+
+    /**
+     * Last name of the i-th student in this file.
+     *
+     * @param i index of student
+     * @pre {@code 0 <= i < size()}
+     * @return last name
+     */
+    public String lastName(int i) {
+        return field(i, 1);
+    }
+
+    /**
+     * ID of the i-th student in this file.
+     *
+     * @param i index of student
+     * @pre {@code 0 <= i < size()}
+     * @return ID
+     */
+    public String id(int i) {
+        return field(i, 2);
+    }
+
+    /**
+     * The i-th student in this file.
+     *
+     * @param i index of student
+     * @pre {@code 0 <= i < size()}
+     * @return student
+     */
+    public Student student(int i) {
+        return new Student(firstName(i), lastName(i), id(i));
+    }
+
+    /**
+     * Create a group with all students in this file.
+     *
+     * When several records have the same ID, the first one is kept.
+     *
+     * @pre true
+     * @return group of students
+     */
+    public Group<Student> toGroup() {
+        Group<Student> students = new Group<>();
+        for (int i = 0; i < size(); i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+
+    /**
+     * Create a group with all students in this file, creating them in parallel.
+     *
+     * The students are created on the common fork-join pool and then added
+     * in file order, so when several records have the same ID, the first one
+     * is kept, as with {@link #toGroup()}.
+     *
+     * @pre true
+     * @return group of students
+     */
+    public Group<Student> toGroupParallel() {
+        Student[] students = new Student[size()];
+        IntStream.range(0, size()).parallel().forEach(i -> students[i] = student(i));
+
+        Group<Student> group = new Group<>();
+        for (Student student : students) {
+            group.add(student);
+        }
+        return group;
+    }
+
+    private String field(int i, int field) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        int slot = (i + first) * FIELDS + field;
+        return decode(bytes, index.starts[slot], index.ends[slot]);
+    }
+
+    /**
+     * Decode the field in {@code bytes[start, end)}, removing quotes if quoted.
+     */
+    static String decode(ByteBuffer bytes, int start, int end) {
+        if (end > start && bytes.get(start) == QUOTE) {
+            return unquote(bytes, start + 1, end - 1);
+        }
+        byte[] field = new byte[end - start];
+        bytes.get(start, field);
+        return new String(field, StandardCharsets.UTF_8);
+    }
+
+    private static String unquote(ByteBuffer bytes, int start, int end) {
+        byte[] field = new byte[end - start];
+        int length = 0;
+        for (int pos = start; pos < end; pos++) {
+            byte b = bytes.get(pos);
+            field[length++] = b;
+            if (b == QUOTE) {
+                pos++; // skip the second quote of an escaped quote
+            }
+        }
+        return new String(field, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Position of the first byte after the optional byte order mark.
+     */
+    static int dataStart(ByteBuffer bytes) {
+        if (bytes.limit() < BOM.length) {
+            return 0;
+        }
+        for (int i = 0; i < BOM.length; i++) {
+            if (bytes.get(i) != BOM[i]) {
+                return 0;
+            }
+        }
+        return BOM.length;
+    }
+
+    /**
+     * Index the records in {@code bytes[from, to)}.
+     *
+     * @pre {@code from} is the start of a record and {@code to} is the end of
+     * the data or the start of a record.
+     * @throws IOException when the records are not valid CSV
+     */
+    static Index scan(ByteBuffer bytes, int from, int to) throws IOException {
+        Index index = new Index(Math.max(16, (to - from) / 32));
+        int pos = from;
+        while (pos < to) {
+            pos = scanRecord(bytes, pos, to, index);
+        }
+        return index;
+    }
+
+    /**
+     * Index the records in {@code bytes[from, to)} in parallel.
+     *
+     * The range is cut into chunks of about equal size. Whether a cut lies
+     * inside a quoted field follows from the parity of the number of quotes
+     * before it (an escaped quote counts twice). Each chunk therefore starts
+     * at the first line feed after its cut that is not inside a quoted field.
+     *
+     * That parity is wrong when an unquoted field contains a quote, such as
+     * {@code O"Brien}, which {@link #scan} accepts. When a chunk has such a
+     * field, or fails to scan because it did not start at a record, the
+     * range is scanned again sequentially, so the result, or the error, is
+     * always that of {@link #scan}.
+     *
+     * @pre {@code from} is the start of a record and {@code to} is the end of
+     * the data.
+     * @throws IOException when the records are not valid CSV
+     */
+    static Index scanParallel(ByteBuffer bytes, int from, int to, int chunks)
+            throws IOException {
+        int[] cuts = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            cuts[c] = from + (int) ((long) (to - from) * c / chunks);
+        }
+
+        boolean[] oddQuotes = new boolean[chunks];
+        IntStream.range(0, chunks).parallel()
+                .forEach(c -> oddQuotes[c] = countQuotes(bytes, cuts[c], cuts[c + 1]) % 2 == 1);
+
+        boolean[] quotedAtCut = new boolean[chunks];
+        for (int c = 1; c < chunks; c++) {
+            quotedAtCut[c] = quotedAtCut[c - 1] ^ oddQuotes[c - 1];
+        }
+
+        int[] starts = new int[chunks + 1];
+        starts[chunks] = to;
+        IntStream.range(1, chunks).parallel()
+                .forEach(c -> starts[c] = nextRecord(bytes, cuts[c], to, quotedAtCut[c]));
+        starts[0] = from;
+
+        Index index = scanChunks(bytes, starts);
+        return index != null ? index : scan(bytes, from, to);
+    }
+
+    /**
+     * Index the chunks {@code bytes[starts[c], starts[c + 1])} in parallel, or
+     * return null when a chunk has an unquoted field with a quote or cannot be
+     * scanned.
+     */
+    private static Index scanChunks(ByteBuffer bytes, int[] starts) {
+        Index[] indices = new Index[starts.length - 1];
+        try {
+            IntStream.range(0, indices.length).parallel()
+                    .forEach(c -> indices[c] = scanChunk(bytes, starts[c], starts[c + 1]));
+        } catch (UncheckedIOException e) {
+            return null;
+        }
+        boolean bareQuote = Arrays.stream(indices).anyMatch(index -> index.bareQuote);
+        return bareQuote ? null : Index.concat(indices);
+    }
+
+    private static Index scanChunk(ByteBuffer bytes, int from, int to) {
+        try {
+            return scan(bytes, from, to);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int countQuotes(ByteBuffer bytes, int from, int to) {
+        int quotes = 0;
+        for (int pos = from; pos < to; pos++) {
+            if (bytes.get(pos) == QUOTE) {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Start of the first record after the first line feed outside quotes at
+     * or after {@code pos}, or {@code to} if there is none.
+     */
+    private static int nextRecord(ByteBuffer bytes, int pos, int to, boolean quoted) {
+        while (pos < to) {
+            byte b = bytes.get(pos++);
+            if (b == QUOTE) {
+                quoted = !quoted;
+            } else if (b == LF && !quoted) {
+                return pos;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Index the record starting at {@code pos} and return the start of the next.
+     */
+    private static int scanRecord(ByteBuffer bytes, int pos, int to, Index index)
+            throws IOException {
+        int recordStart = pos;
+        int fields = 0;
+        boolean more = true;
+        while (more) {
+            int fieldStart = pos;
+            pos = skipField(bytes, pos, to, index);
+            index.field(fields++, fieldStart, pos);
+            more = is(COMMA, bytes, pos, to);
+            if (more) {
+                pos++;
+            }
+        }
+        index.endRecord(fields, recordStart);
+        return skipLineBreak(bytes, pos, to);
+    }
+
+    /**
+     * Position of the first byte after the field starting at {@code pos}.
+     * Marks the index when an unquoted field contains a quote.
+     */
+    private static int skipField(ByteBuffer bytes, int pos, int to, Index index)
+            throws IOException {
+        if (pos < to && bytes.get(pos) == QUOTE) {
+            return skipQuotedField(bytes, pos, to);
+        }
+        while (pos < to && !isDelimiter(bytes.get(pos))) {
+            if (bytes.get(pos) == QUOTE) {
+                index.bareQuote = true;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipQuotedField(ByteBuffer bytes, int start, int to)
+            throws IOException {
+        int pos = start + 1;
+        while (pos < to) {
+            if (bytes.get(pos) != QUOTE) {
+                pos++;
+            } else if (is(QUOTE, bytes, pos + 1, to)) {
+                pos += 2; // escaped quote
+            } else {
+                return checkFieldEnd(bytes, pos + 1, to);
+            }
+        }
+        throw new IOException(
+                "Quoted field starting at byte %d is not closed.".formatted(start));
+    }
+
+    private static int checkFieldEnd(ByteBuffer bytes, int pos, int to) throws IOException {
+        if (pos < to && !isDelimiter(bytes.get(pos))) {
+            throw new IOException(
+                    "Unexpected character after quoted field at byte %d.".formatted(pos));
+        }
+        return pos;
+    }
+
+    private static int skipLineBreak(ByteBuffer bytes, int pos, int to) {
+        if (is(CR, bytes, pos, to)) {
+            pos++;
+        }
+        if (is(LF, bytes, pos, to)) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean is(byte expected, ByteBuffer bytes, int pos, int to) {
+        return pos < to && bytes.get(pos) == expected;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == COMMA || b == LF || b == CR;
+    }
+
+    /*
+     * Positions of the stored fields of the records, FIELDS slots per record.
+     * A field i of record r is bytes[starts[r * FIELDS + i], ends[r * FIELDS + i]),
+     * including the quotes of a quoted field. bareQuote is set when an
+     * unquoted field contains a quote.
+     */
+    static final class Index {
+        int[] starts;
+        int[] ends;
+        int size;
+        boolean bareQuote;
+
+        /**
+         * Create an empty index with room for capacity records.
+         */
+        Index(int capacity) {
+            starts = new int[capacity * FIELDS];
+            ends = new int[capacity * FIELDS];
+        }
+
+        /**
+         * Store the position of a field of the record being scanned.
+         */
+        void field(int field, int start, int end) {
+            if (field >= FIELDS) {
+                return;
+            }
+            int slot = size * FIELDS + field;
+            if (slot >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+                ends = Arrays.copyOf(ends, ends.length * 2);
+            }
+            starts[slot] = start;
+            ends[slot] = end;
+        }
+
+        /**
+         * Finish the record being scanned, skipping it if it is an empty line.
+         */
+        void endRecord(int fields, int recordStart) throws IOException {
+            int slot = size * FIELDS;
+            if (fields == 1 && starts[slot] == ends[slot]) {
+                return;
+            }
+            if (fields < FIELDS) {
+                throw new IOException(
+                        "Record at byte %d has %d values, expected at least %d."
+                                .formatted(recordStart, fields, FIELDS));
+            }
+            size++;
+        }
+
+        /**
+         * Concatenate indices, in order, into a single index.
+         */
+        static Index concat(Index... indices) {
+            int total = 0;
+            for (Index index : indices) {
+                total += index.size;
+            }
+
+            Index result = new Index(Math.max(1, total));
+            for (Index index : indices) {
+                int length = index.size * FIELDS;
+                System.arraycopy(index.starts, 0, result.starts, result.size * FIELDS, length);
+                System.arraycopy(index.ends, 0, result.ends, result.size * FIELDS, length);
+                result.size += index.size;
+            }
+            return result;
+        }
+    }
+
+}
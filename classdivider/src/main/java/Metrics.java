@@ -0,0 +1,218 @@
+import com.sun.management.ThreadMXBean;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Where the time goes when dividing a class: the wall-clock time and the
+ * bytes allocated by each stage of the pipeline, and the sizes of the groups
+ * it produced.
+ *
+ * Every stage is also emitted as a {@code classdivider.Stage} event to Java
+ * Flight Recorder, so production runs can be recorded with
+ * {@code -XX:StartFlightRecording} without asking for a report. Setting up
+ * JFR events and the management beans takes a JVM about 200 ms, so neither
+ * is touched unless a recording is running or allocations are asked for.
+ *
+ * Allocated bytes are those of the thread running the stage, as counted by
+ * the JVM; work the stage hands to other threads, such as the parallel
+ * starts of {@link MultiStartDivider}, is not included. Where the JVM does
+ * not count allocations, or they are not asked for, they are reported as
+ * unknown.
+ */
+public final class Metrics {
+
+    private final ThreadMXBean threads;
+    private final List<Span> spans = new ArrayList<>();
+
+    /**
+     * Time and allocations of one stage.
+     *
+     * @param stage name of the stage
+     * @param nanos wall-clock time in nanoseconds
+     * @param allocated bytes allocated, or -1 if unknown
+     */
+    record Span(String stage, long nanos, long allocated) {
+    }
+
+    /**
+     * A stage of the pipeline, for Java Flight Recorder.
+     */
+    @Name("classdivider.Stage")
+    @Label("Class Divider Stage")
+    @Category("Class Divider")
+    @Description("A stage of dividing a class into groups")
+    static final class StageEvent extends Event {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+
+        /**
+         * Begin an event.
+         *
+         * @param stage name of the stage
+         * @return the event
+         */
+        static StageEvent begin(String stage) {
+            StageEvent event = new StageEvent();
+            event.stage = stage;
+            event.begin();
+            return event;
+        }
+
+        /**
+         * End this event and commit it, if its recording wants it.
+         *
+         * @param allocated bytes allocated by the stage, or -1 if unknown
+         */
+        void commit(long allocated) {
+            end();
+            if (shouldCommit()) {
+                this.allocated = allocated;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Create metrics without any stages.
+     *
+     * @param countAllocations whether to count allocated bytes when no
+     * flight recording is running
+     */
+    public Metrics(boolean countAllocations) {
+        this.threads = countAllocations || FlightRecorder.isInitialized() ? threads() : null;
+    }
+
+    /**
+     * Run a stage and record its time and allocations.
+     *
+     * @pre true
+     * @param <T> type of the result of the stage
+     * @param stage name of the stage
+     * @param work the stage
+     * @return the result of the stage
+     */
+    public <T> T time(String stage, Supplier<T> work) {
+        StageEvent event = beginEvent(stage);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+            spans.add(new Span(stage, nanos, allocated));
+            if (event != null) {
+                event.commit(allocated);
+            }
+        }
+    }
+
+    /**
+     * Run a stage without a result and record its time and allocations.
+     *
+     * @pre true
+     * @param stage name of the stage
+     * @param work the stage
+     */
+    public void time(String stage, Runnable work) {
+        time(stage, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Begin a JFR event for a stage, if a flight recording is running;
+     * initializing the event class would set up JFR otherwise.
+     */
+    private static StageEvent beginEvent(String stage) {
+        return FlightRecorder.isInitialized() ? StageEvent.begin(stage) : null;
+    }
+
+    /**
+     * The stages recorded so far, in the order they finished.
+     *
+     * @pre true
+     * @return the stages
+     */
+    List<Span> spans() {
+        return List.copyOf(spans);
+    }
+
+    /**
+     * Number of groups of each size.
+     *
+     * @pre true
+     * @param groups the groups
+     * @return number of groups per size, by increasing size
+     */
+    static Map<Integer, Integer> histogram(List<Group<Student>> groups) {
+        Map<Integer, Integer> histogram = new TreeMap<>();
+        for (Group<Student> group : groups) {
+            histogram.merge(group.size(), 1, Integer::sum);
+        }
+        return histogram;
+    }
+
+    /**
+     * Print a table with the time and allocations of every stage and their
+     * total, followed by the number of groups of each size.
+     *
+     * @pre true
+     * @param groups the groups the pipeline produced
+     * @param out stream to print to
+     */
+    public void report(List<Group<Student>> groups, PrintStream out) {
+        out.printf("%-10s %12s %14s%n", "Stage", "Time (ms)", "Allocated (KB)");
+        long totalNanos = 0;
+        long totalAllocated = 0;
+        for (Span span : spans) {
+            printSpan(out, span.stage(), span.nanos(), span.allocated());
+            totalNanos += span.nanos();
+            totalAllocated = span.allocated() < 0 || totalAllocated < 0
+                    ? -1
+                    : totalAllocated + span.allocated();
+        }
+        printSpan(out, "total", totalNanos, totalAllocated);
+
+        List<String> sizes = new ArrayList<>();
+        histogram(groups).forEach((size, count) -> sizes.add("%d x %d".formatted(count, size)));
+        out.printf("Group sizes: %s%n", sizes.isEmpty() ? "none" : String.join(", ", sizes));
+    }
+
+    private static void printSpan(PrintStream out, String stage, long nanos, long allocated) {
+        out.printf("%-10s %12.3f %14s%n", stage, nanos / 1e6,
+                allocated < 0 ? "unknown" : "%,d".formatted(allocated / 1024));
+    }
+
+    private long allocatedBytes() {
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    private static ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof ThreadMXBean allocations
+                && allocations.isThreadAllocatedMemorySupported()) {
+            allocations.setThreadAllocatedMemoryEnabled(true);
+            return allocations;
+        }
+        return null;
+    }
+}
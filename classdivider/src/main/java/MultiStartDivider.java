@@ -0,0 +1,227 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Divide a class several times at random and keep the best division
+ * according to an {@link Objective}.
+ *
+ * The starts run in parallel on the common fork-join pool. The search stops
+ * early when a start reaches the target score or the time budget is used
+ * up; the first start always runs. Each start divides with its own random
+ * number generator, split from the seed along a tree of starts that does not
+ * depend on the number of threads. Unless the time budget runs out, the same
+ * seed therefore gives the same division: the start with the lowest score,
+ * or, once the target is reached, the first start that reached it.
+ */
+public final class MultiStartDivider {
+
+    private final Objective objective;
+    private final int starts;
+    private final Duration timeBudget;
+    private final double target;
+    private final long seed;
+
+    /**
+     * Outcome of a multi-start division.
+     *
+     * @param groups the best groups; empty if the class cannot be divided
+     * @param score their score
+     * @param start the number of the start the groups come from, from 0
+     * @param starts number of starts that ran
+     */
+    public record Result(List<Group<Student>> groups, double score, int start, int starts) {
+    }
+
+    /**
+     * Create a divider.
+     *
+     * @param objective the objective to minimize
+     * @param starts maximum number of random divisions to try
+     * @param timeBudget how long to keep starting new divisions
+     * @param target score at which a division is good enough to stop
+     * @param seed seed for the random number generators of the starts
+     * @throws IllegalArgumentException when {@code starts <= 0}
+     */
+    public MultiStartDivider(Objective objective, int starts, Duration timeBudget,
+            double target, long seed) {
+        if (starts <= 0) {
+            throw new IllegalArgumentException("Number of starts must be a positive integer.");
+        }
+        this.objective = objective;
+        this.starts = starts;
+        this.timeBudget = timeBudget;
+        this.target = target;
+        this.seed = seed;
+    }
+
+    /**
+     * Divide a class into groups of a given size with a given deviation, as
+     * well as the objective allows within the number of starts and the time
+     * budget.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the best groups found
+     */
+    public Result divide(Group<Student> klas, int groupSize, int deviation) {
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Search search = new Search(klas, groupSize, deviation, deadline);
+        return search.new Start(0, starts, new SplittableRandom(seed)).invoke();
+    }
+
+    /**
+     * Divide a class with the best of several starts.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param studentsFile the students file the class was read from
+     * @param objective name of the objective, see {@link #objective(String, Path)}
+     * @param starts maximum number of starts
+     * @param timeBudget how long to keep starting new divisions
+     * @param seed seed for the random number generators
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the best groups found, with their score
+     * @throws IOException when the students file cannot be read
+     * @throws IllegalArgumentException when the objective is unknown or
+     *     {@code starts <= 0}
+     */
+    static Result divide(Group<Student> klas, int groupSize, int deviation,
+            Path studentsFile, String objective, int starts, Duration timeBudget,
+            long seed) throws IOException {
+        return new MultiStartDivider(objective(objective, studentsFile),
+                starts, timeBudget, 0, seed).divide(klas, groupSize, deviation);
+    }
+
+    /**
+     * The objective with a given name: {@code names} for
+     * {@link Objective#firstNameCollisions()}, {@code sizes} for
+     * {@link Objective#sizeVariance()}, or {@code balance} for
+     * {@link Objective#attributeBalance(StudentAttributes)} on the attribute
+     * columns of the students file.
+     *
+     * @pre true
+     * @param name name of the objective
+     * @param studentsFile the students file the class was read from
+     * @return the objective
+     * @throws IOException when the students file cannot be read
+     * @throws IllegalArgumentException when the name is unknown
+     */
+    static Objective objective(String name, Path studentsFile) throws IOException {
+        switch (name) {
+            case "names":
+                return Objective.firstNameCollisions();
+            case "sizes":
+                return Objective.sizeVariance();
+            case "balance":
+                return Objective.attributeBalance(StudentAttributes.fromCSV(studentsFile));
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown objective '%s', expected names, sizes, or balance"
+                                .formatted(name));
+        }
+    }
+
+    /**
+     * The state shared by the starts of one division.
+     */
+    private final class Search {
+
+        private final Group<Student> klas;
+        private final int groupSize;
+        private final int deviation;
+        private final long deadline;
+
+        /*
+         * Lowest number of a start that reached the target; starts after it
+         * are skipped.
+         */
+        private final AtomicInteger firstHit = new AtomicInteger(Integer.MAX_VALUE);
+
+        Search(Group<Student> klas, int groupSize, int deviation, long deadline) {
+            this.klas = klas;
+            this.groupSize = groupSize;
+            this.deviation = deviation;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Run one start, or skip it when the search is over.
+         *
+         * @return the result of the start; null if it was skipped
+         */
+        Result run(int start, SplittableRandom random) {
+            if (start > 0 && (start > firstHit.get() || System.nanoTime() > deadline)) {
+                return null;
+            }
+            List<Group<Student>> groups = new ArrayList<>(
+                    new ClassDivider(random).divide(klas, groupSize, deviation));
+            double score = objective.score(groups);
+            if (score <= target) {
+                firstHit.accumulateAndGet(start, Math::min);
+            }
+            return new Result(groups, score, start, 1);
+        }
+
+        /**
+         * The better of two results. All scores up to the target are equally
+         * good, so that the first start to reach it wins; on a tie, the
+         * earlier start wins.
+         */
+        Result better(Result a, Result b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            Result best = isBetter(b, a) ? b : a;
+            return new Result(best.groups(), best.score(), best.start(),
+                    a.starts() + b.starts());
+        }
+
+        private boolean isBetter(Result a, Result b) {
+            double scoreA = Math.max(a.score(), target);
+            double scoreB = Math.max(b.score(), target);
+            return scoreA < scoreB || scoreA == scoreB && a.start() < b.start();
+        }
+
+        /**
+         * Starts {@code from} up to {@code to}: the second half forks with a
+         * generator split off, the first half continues with the rest.
+         * Tasks are never serialized.
+         */
+        @SuppressWarnings("serial")
+        private final class Start extends RecursiveTask<Result> {
+
+            private final int from;
+            private final int to;
+            private final SplittableRandom random;
+
+            Start(int from, int to, SplittableRandom random) {
+                this.from = from;
+                this.to = to;
+                this.random = random;
+            }
+
+            @Override
+            protected Result compute() {
+                if (to - from == 1) {
+                    return run(from, random);
+                }
+                int middle = (from + to) >>> 1;
+                Start second = new Start(middle, to, random.split());
+                second.fork();
+                Result first = new Start(from, middle, random).compute();
+                return better(first, second.join());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Score of a division into groups, used to pick the best of several random
+ * divisions, see {@link MultiStartDivider}. Lower scores are better; a score
+ * of 0 means the division cannot be improved on.
+ *
+ * An objective is called from several threads at the same time and must not
+ * change the groups.
+ */
+@FunctionalInterface
+public interface Objective {
+
+    /**
+     * Score a division.
+     *
+     * @pre true
+     * @param groups the groups of the division
+     * @return the score, at least 0; lower is better
+     */
+    double score(List<Group<Student>> groups);
+
+    /**
+     * Objective that adds the scores of this objective and another one.
+     *
+     * @pre true
+     * @param other the other objective
+     * @return the combined objective
+     */
+    default Objective plus(Objective other) {
+        return groups -> score(groups) + other.score(groups);
+    }
+
+    /**
+     * Variance of the group sizes. Divisions by {@link ClassDivider} always
+     * have the same sizes; this objective is for divisions that do not.
+     *
+     * @pre true
+     * @return the objective
+     */
+    static Objective sizeVariance() {
+        return groups -> {
+            double mean = groups.stream().mapToInt(Group::size).average().orElse(0);
+            return groups.stream()
+                    .mapToDouble(group -> (group.size() - mean) * (group.size() - mean))
+                    .average().orElse(0);
+        };
+    }
+
+    /**
+     * Number of pairs of students in the same group with the same first
+     * name, who would otherwise have to be told apart by their last name.
+     *
+     * @pre true
+     * @return the objective
+     */
+    static Objective firstNameCollisions() {
+        return groups -> {
+            long collisions = 0;
+            for (Group<Student> group : groups) {
+                Map<String, Integer> seen = new HashMap<>();
+                for (Student student : group.inOrder()) {
+                    collisions += seen.merge(student.firstName(), 1, Integer::sum) - 1;
+                }
+            }
+            return collisions;
+        };
+    }
+
+    /**
+     * How far the mix of attribute values in the groups is from the mix in
+     * the class, see {@link BalancedDivider#imbalance(List, StudentAttributes)}.
+     *
+     * @pre true
+     * @param attributes attributes of the students
+     * @return the objective
+     */
+    static Objective attributeBalance(StudentAttributes attributes) {
+        return groups -> BalancedDivider.imbalance(groups, attributes);
+    }
+}
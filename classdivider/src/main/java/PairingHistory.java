@@ -0,0 +1,357 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How often each pair of students has been in the same group, over all
+ * divisions of a class so far.
+ *
+ * Students are identified by ID and numbered in the order they were first
+ * seen, so students may join a class between divisions. The counts are kept
+ * in a triangular matrix of shorts: the count of students i and j, with
+ * {@code j < i}, is at {@code i * (i - 1) / 2 + j}. Numbering a new student
+ * appends a row without moving the existing ones. Counts stop at
+ * {@link Short#MAX_VALUE}. The matrix takes about {@code n * n} bytes for
+ * {@code n} students: 25 MB for a class of 5,000.
+ *
+ * On disk, only the pairs that have been in a group together are stored,
+ * all numbers big-endian:
+ *
+ * <ul>
+ * <li>header: magic {@code "CDPH"} (int), version (int), number of students
+ * (int), and number of pairs (int)</li>
+ * <li>per student, the length of their ID in bytes (unsigned short)
+ * followed by its UTF-8 bytes</li>
+ * <li>per pair, the numbers of the two students (int, int) and their count
+ * (short)</li>
+ * </ul>
+ */
+public final class PairingHistory {
+
+    private static final int MAGIC = 0x43445048; // "CDPH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int PAIR_SIZE = 2 * Integer.BYTES + Short.BYTES;
+    private static final int MAX_ID_LENGTH = 0xFFFF;
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private short[] counts = new short[0];
+
+    /*
+     * Representation invariant:
+     * - index.get(ids.get(i)) == i
+     * - counts.length >= ids.size() * (ids.size() - 1) / 2
+     */
+
+    /**
+     * Outcome of a division that avoids repeat pairings.
+     *
+     * @param groups the groups
+     * @param repeats number of repeat pairings in the groups, see
+     *     {@link #repeats(Iterable)}
+     */
+    public record Result(List<Group<Student>> groups, long repeats) {
+    }
+
+    /**
+     * Create an empty history.
+     */
+    public PairingHistory() {
+    }
+
+    /**
+     * Path of the history belonging to a class file: the same path with
+     * {@code .history} appended.
+     *
+     * @pre true
+     * @param classFile path to the students file of the class
+     * @return path to the history of the class
+     */
+    public static Path pathFor(Path classFile) {
+        return classFile.resolveSibling(classFile.getFileName() + ".history");
+    }
+
+    /**
+     * Number a student, giving them a new number if they have none yet.
+     *
+     * @pre true
+     * @param student the student
+     * @return the student's number, from 0
+     */
+    public int indexOf(Student student) {
+        Integer i = index.get(student.id());
+        return i == null ? add(student.id()) : i;
+    }
+
+    private int add(String id) {
+        int i = ids.size();
+        index.put(id, i);
+        ids.add(id);
+        int needed = offset(i + 1);
+        if (counts.length < needed) {
+            counts = Arrays.copyOf(counts, Math.max(needed, counts.length * 2));
+        }
+        return i;
+    }
+
+    private static int offset(int row) {
+        return (int) ((long) row * (row - 1) / 2);
+    }
+
+    /**
+     * Number of times two students have been in the same group.
+     *
+     * @pre {@code 0 <= i, j < number of students}
+     * @param i number of one student
+     * @param j number of the other student
+     * @return the count; 0 if {@code i == j}
+     */
+    public int count(int i, int j) {
+        if (i == j) {
+            return 0;
+        }
+        return counts[i > j ? offset(i) + j : offset(j) + i];
+    }
+
+    /**
+     * Number of times two students have been in the same group.
+     *
+     * @pre true
+     * @param a one student
+     * @param b the other student
+     * @return the count; 0 if either student is not in the history
+     */
+    public int count(Student a, Student b) {
+        Integer i = index.get(a.id());
+        Integer j = index.get(b.id());
+        return i == null || j == null ? 0 : count(i, j);
+    }
+
+    /**
+     * Record a division: every pair of students in the same group has been
+     * in a group together once more.
+     *
+     * @pre true
+     * @param groups the groups of the division
+     */
+    public void record(Iterable<Group<Student>> groups) {
+        for (Group<Student> group : groups) {
+            int[] members = group.inOrder().stream().mapToInt(this::indexOf).toArray();
+            for (int x = 0; x < members.length; x++) {
+                for (int y = 0; y < x; y++) {
+                    increment(members[x], members[y]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record a division in the history next to a students file.
+     *
+     * The history is read, updated, and written while holding a lock on a
+     * file next to it, the history's path with {@code .lock} appended, and
+     * the class's monitor. Divisions recorded at the same time, by other
+     * processes or other threads, therefore all end up in the history. The
+     * lock file is left in place.
+     *
+     * @pre every ID is at most 65535 bytes in UTF-8
+     * @param studentsFile the students file the class was read from
+     * @param groups the groups of the division
+     * @throws IOException when the history cannot be read or written
+     * @throws IllegalArgumentException when an ID is too long
+     */
+    static synchronized void record(Path studentsFile, Iterable<Group<Student>> groups)
+            throws IOException {
+        Path file = pathFor(studentsFile);
+        Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.lock()) {
+            PairingHistory history = read(file);
+            history.record(groups);
+            history.write(file);
+        }
+    }
+
+    private void increment(int i, int j) {
+        int at = i > j ? offset(i) + j : offset(j) + i;
+        if (counts[at] < Short.MAX_VALUE) {
+            counts[at]++;
+        }
+    }
+
+    /**
+     * Repeat pairings of a division: over all pairs of students in the same
+     * group, the sum of the number of times they have been together before.
+     *
+     * @pre true
+     * @param groups the groups of the division
+     * @return number of repeat pairings
+     */
+    public long repeats(Iterable<Group<Student>> groups) {
+        long repeats = 0;
+        for (Group<Student> group : groups) {
+            List<Student> members = new ArrayList<>(group.inOrder());
+            for (int x = 0; x < members.size(); x++) {
+                for (int y = 0; y < x; y++) {
+                    repeats += count(members.get(x), members.get(y));
+                }
+            }
+        }
+        return repeats;
+    }
+
+    /**
+     * Divide a class with as few repeat pairings as possible, using the
+     * history next to its students file. The division is not recorded; see
+     * {@link #record(Path, Iterable)}.
+     *
+     * @param klas the group of students to divide
+     * @param groupSize target group size
+     * @param deviation permitted difference of number of students in a group
+     * and the target group size
+     * @param studentsFile the students file the class was read from
+     * @param seed seed for the random number generator
+     * @pre {@code 0 < groupSize && 0 <= deviation}
+     * @return the groups and their number of repeat pairings
+     * @throws IOException when the history cannot be read
+     */
+    static Result divide(Group<Student> klas, int groupSize, int deviation,
+            Path studentsFile, long seed) throws IOException {
+        PairingHistory history = read(pathFor(studentsFile));
+        List<Group<Student>> groups = new ArrayList<>(
+                new ClassDivider(seed).divide(klas, groupSize, deviation, history));
+        return new Result(groups, history.repeats(groups));
+    }
+
+    /**
+     * Read a history, or start an empty one if the file does not exist.
+     *
+     * @pre true
+     * @param file path to history file
+     * @return the history
+     * @throws IOException when an I/O error occurs or the file is not a valid history
+     */
+    public static PairingHistory read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new PairingHistory();
+        }
+        try {
+            return fromBytes(ByteBuffer.wrap(Files.readAllBytes(file)), file);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Pairing history '%s' is truncated.".formatted(file), e);
+        }
+    }
+
+    private static PairingHistory fromBytes(ByteBuffer bytes, Path file) throws IOException {
+        if (bytes.getInt() != MAGIC || bytes.getInt() != VERSION) {
+            throw new IOException("'%s' is not a pairing history.".formatted(file));
+        }
+        PairingHistory history = new PairingHistory();
+        int students = bytes.getInt();
+        int pairs = bytes.getInt();
+        for (int i = 0; i < students; i++) {
+            byte[] id = new byte[Short.toUnsignedInt(bytes.getShort())];
+            bytes.get(id);
+            history.add(new String(id, StandardCharsets.UTF_8));
+        }
+        for (int p = 0; p < pairs; p++) {
+            history.readPair(bytes, file);
+        }
+        return history;
+    }
+
+    private void readPair(ByteBuffer bytes, Path file) throws IOException {
+        int i = bytes.getInt();
+        int j = bytes.getInt();
+        short count = bytes.getShort();
+        if (j < 0 || i <= j || i >= ids.size()) {
+            throw new IOException("Pairing history '%s' is corrupt.".formatted(file));
+        }
+        counts[offset(i) + j] = count;
+    }
+
+    /**
+     * Write this history.
+     *
+     * The history is written to a new temporary file in the same directory
+     * first and then moved into place, so it is never left partially written.
+     * The temporary file is deleted when writing fails. Of two concurrent
+     * writers, the last one wins; to add a division to a history that others
+     * may update too, use {@link #record(Path, Iterable)}.
+     *
+     * @pre every ID is at most 65535 bytes in UTF-8
+     * @param file path to history file
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when an ID is too long
+     */
+    public void write(Path file) throws IOException {
+        byte[] bytes = toBytes().array();
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(),
+                file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // Only left when writing or moving failed
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private ByteBuffer toBytes() {
+        List<byte[]> encoded = new ArrayList<>(ids.size());
+        int size = HEADER_SIZE;
+        for (String id : ids) {
+            encoded.add(encode(id));
+            size += Short.BYTES + encoded.get(encoded.size() - 1).length;
+        }
+        int pairs = 0;
+        for (int at = 0; at < offset(ids.size()); at++) {
+            pairs += counts[at] == 0 ? 0 : 1;
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(size + pairs * PAIR_SIZE)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(ids.size())
+                .putInt(pairs);
+        for (byte[] id : encoded) {
+            bytes.putShort((short) id.length).put(id);
+        }
+        putPairs(bytes);
+        return bytes;
+    }
+
+    private static byte[] encode(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException(
+                    "ID is too long for a pairing history: '%s'.".formatted(id));
+        }
+        return bytes;
+    }
+
+    private void putPairs(ByteBuffer bytes) {
+        for (int i = 1; i < ids.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (counts[offset(i) + j] != 0) {
+                    bytes.putInt(i).putInt(j).putShort(counts[offset(i) + j]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Minimize the number of repeat pairings in a division by swapping students.
+ *
+ * Students are identified by index into the division; each also has a number
+ * in the {@link PairingHistory}. The cost of a division is the sum, over all
+ * pairs of students in the same group, of the number of times they have been
+ * together before. Swapping two students only changes the pairs they are in,
+ * so the change in cost takes time proportional to the size of their groups.
+ */
+final class RepeatMinimizer {
+
+    private final PairingHistory history;
+    private final int[] numbers;
+    private final int[] groupOf;
+    private final int[] position;
+    private final int[][] members;
+    private final RandomGenerator random;
+    private long cost;
+
+    /*
+     * Representation invariant:
+     * - members[groupOf[m]][position[m]] == m
+     * - cost == sum of history.count over all pairs in the same group
+     */
+
+    /**
+     * Create a minimizer.
+     *
+     * @param history the pairing history
+     * @param numbers per student, their number in the history
+     * @param groupOf per student, the index of their initial group
+     * @param groupCount number of groups
+     * @param random source of randomness
+     */
+    RepeatMinimizer(PairingHistory history, int[] numbers, int[] groupOf, int groupCount,
+            RandomGenerator random) {
+        this.history = history;
+        this.numbers = numbers;
+        this.groupOf = groupOf.clone();
+        this.random = random;
+
+        int[] sizes = new int[groupCount];
+        for (int g : groupOf) {
+            sizes[g]++;
+        }
+        members = new int[groupCount][];
+        for (int g = 0; g < groupCount; g++) {
+            members[g] = new int[sizes[g]];
+            sizes[g] = 0;
+        }
+        position = new int[groupOf.length];
+        for (int m = 0; m < groupOf.length; m++) {
+            position[m] = sizes[groupOf[m]]++;
+            members[groupOf[m]][position[m]] = m;
+        }
+        cost = repeats();
+    }
+
+    /**
+     * Number of repeat pairings of the groups in members.
+     */
+    private long repeats() {
+        long repeats = 0;
+        for (int m = 0; m < groupOf.length; m++) {
+            repeats += together(m, groupOf[m], m);
+        }
+        // Every pair is counted from both of its students
+        return repeats / 2;
+    }
+
+    /**
+     * Swap random pairs of students in different groups, keeping the swaps
+     * that do not increase the number of repeat pairings, until there are
+     * none left or there have been {@code maxStale} attempts in a row without
+     * improvement.
+     *
+     * @param maxStale number of attempts without improvement to give up after
+     */
+    void minimize(long maxStale) {
+        int students = groupOf.length;
+        long stale = 0;
+        while (stale < maxStale && cost > 0) {
+            int x = random.nextInt(students);
+            int y = random.nextInt(students);
+            long delta = groupOf[x] == groupOf[y] ? 1 : delta(x, y);
+            if (delta <= 0) {
+                swap(x, y);
+                cost += delta;
+            }
+            stale = delta < 0 ? 0 : stale + 1;
+        }
+    }
+
+    /**
+     * Change in repeat pairings when students x and y swap groups.
+     */
+    long delta(int x, int y) {
+        int g = groupOf[x];
+        int h = groupOf[y];
+        return together(x, h, y) - together(x, g, x) + together(y, g, x) - together(y, h, y);
+    }
+
+    /**
+     * Times student m has been together with the members of group g before,
+     * not counting student {@code except}.
+     */
+    private long together(int m, int g, int except) {
+        long together = 0;
+        for (int other : members[g]) {
+            if (other != except) {
+                together += history.count(numbers[m], numbers[other]);
+            }
+        }
+        return together;
+    }
+
+    private void swap(int x, int y) {
+        int g = groupOf[x];
+        int h = groupOf[y];
+        members[g][position[x]] = y;
+        members[h][position[y]] = x;
+        int p = position[x];
+        position[x] = position[y];
+        position[y] = p;
+        groupOf[x] = h;
+        groupOf[y] = g;
+    }
+
+    /**
+     * Current number of repeat pairings.
+     *
+     * @return repeat pairings
+     */
+    long cost() {
+        return cost;
+    }
+
+    /**
+     * The group of each student.
+     *
+     * @return per student, the index of their group
+     */
+    int[] groupOf() {
+        return groupOf.clone();
+    }
+}
@@ -0,0 +1,200 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The students of a class in alphabetical order, Dutch style, as by
+ * {@link Student#sortName()}, with lookup by name prefix and by ID.
+ *
+ * A roster is a snapshot: it does not change when the class does. Every
+ * student's sort name and collation key are computed once, when the roster is
+ * created, so listing and searching never rebuild a name. The collation key of
+ * a name is the name in lower case without accents, so "Öztürk" sorts with
+ * "Oz" and "de Beer" is found by "beer". Unlike the keys of a
+ * {@link java.text.Collator}, these keys can be searched by prefix.
+ *
+ * Looking up students by prefix takes {@code O(log n)} time for a class of
+ * {@code n} students, with a binary search of the sorted keys. IDs are
+ * looked up in a hash table of positions.
+ */
+public final class Roster {
+
+    private final Student[] students;
+    private final String[] keys;
+    private final Map<String, Integer> positions;
+
+    /*
+     * Representation invariant:
+     * - keys[i] == key(students[i].sortName()), and keys is sorted
+     * - positions.get(students[i].id()) == i
+     */
+
+    private Roster(Student[] students, String[] keys) {
+        this.students = students;
+        this.keys = keys;
+        this.positions = new HashMap<>(2 * students.length);
+        for (int i = 0; i < students.length; i++) {
+            positions.put(students[i].id(), i);
+        }
+    }
+
+    /**
+     * Sort the students of a class.
+     *
+     * Students whose keys are the same are in order of their sort names, and
+     * then of their IDs.
+     *
+     * @pre no two students have the same ID
+     * @param klas the students in the class
+     * @return the roster of the class
+     */
+    public static Roster of(Collection<Student> klas) {
+        Map<String, List<Student>> bySortName = new HashMap<>();
+        for (Student student : klas) {
+            bySortName.computeIfAbsent(student.sortName(), name -> new ArrayList<>(1))
+                    .add(student);
+        }
+        Name[] names = bySortName.keySet().stream().map(Name::new).toArray(Name[]::new);
+        Arrays.sort(names);
+
+        Student[] students = new Student[klas.size()];
+        String[] keys = new String[klas.size()];
+        int i = 0;
+        for (Name name : names) {
+            List<Student> sameName = bySortName.get(name.sortName());
+            sameName.sort(Comparator.comparing(Student::id));
+            for (Student student : sameName) {
+                students[i] = student;
+                keys[i] = name.key();
+                i++;
+            }
+        }
+        return new Roster(students, keys);
+    }
+
+    /**
+     * A sort name with its collation key, ordered by key and then by sort
+     * name.
+     */
+    private record Name(String sortName, String key) implements Comparable<Name> {
+
+        Name(String sortName) {
+            this(sortName, Roster.key(sortName));
+        }
+
+        @Override
+        public int compareTo(Name other) {
+            int order = key.compareTo(other.key);
+            return order != 0 ? order : sortName.compareTo(other.sortName);
+        }
+    }
+
+    /**
+     * Collation key of a name: the name in lower case, without accents or
+     * other combining marks.
+     *
+     * @pre true
+     * @param name the name
+     * @return the key
+     */
+    static String key(String name) {
+        if (name.chars().allMatch(c -> c < 0x80)) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                key.append(c);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Number of students.
+     *
+     * @pre true
+     * @return number of students on the roster
+     */
+    public int size() {
+        return students.length;
+    }
+
+    /**
+     * All students, in alphabetical order.
+     *
+     * @pre true
+     * @return unmodifiable list of the students
+     */
+    public List<Student> inOrder() {
+        return Collections.unmodifiableList(Arrays.asList(students));
+    }
+
+    /**
+     * The students whose sort name starts with a prefix, ignoring case and
+     * accents, in alphabetical order. For example, prefix "beer, h" finds
+     * Huub de Beer.
+     *
+     * @pre true
+     * @param prefix start of the sort name; the empty prefix finds everyone
+     * @return unmodifiable list of the students
+     */
+    public List<Student> withPrefix(String prefix) {
+        String start = key(prefix);
+        int from = firstNotMatching(key -> key.compareTo(start) < 0);
+        int to = firstNotMatching(key -> key.compareTo(start) < 0 || key.startsWith(start));
+        return inOrder().subList(from, to);
+    }
+
+    /**
+     * Binary search for the first key that does not match a predicate that
+     * matches a prefix of the keys.
+     */
+    private int firstNotMatching(Predicate<String> before) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before.test(keys[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The student with an ID.
+     *
+     * @pre true
+     * @param id the ID
+     * @return the student, or null if no student on the roster has that ID
+     */
+    public Student byId(String id) {
+        Integer i = positions.get(id);
+        return i == null ? null : students[i];
+    }
+
+    /**
+     * Position of a student in alphabetical order.
+     *
+     * @pre true
+     * @param student the student
+     * @return position of the student, from 0, or -1 if the student is not
+     * on the roster
+     */
+    public int indexOf(Student student) {
+        return positions.getOrDefault(student.id(), -1);
+    }
+}
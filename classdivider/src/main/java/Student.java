@@ -32,6 +32,28 @@ public record Student(String firstName, String lastName, String id) {
      * @return This student's name reformatted for sorting
      */
     public String sortName() {
+        String prefix = lastName.substring(0, prefixLength()).trim();
+
+        return sortLastName() + ", " + firstName + (prefix.isBlank() ? "" : " " + prefix);
+    }
+
+    /**
+     * Return the last name without "tussenvoegsels": the part of the last name
+     * that the sort name starts with.
+     *
+     * Examples: "Beer" for "de Beer", and "Borne" for "van der Borne".
+     *
+     * @pre true
+     * @return This student's last name from its first capital letter on
+     */
+    public String sortLastName() {
+        return lastName.substring(prefixLength());
+    }
+
+    /**
+     * Length of the "tussenvoegsels" at the start of the last name.
+     */
+    private int prefixLength() {
         int i = 0;
 
         while (i < lastName.length() && !Character.isUpperCase(lastName.charAt(i))) {
@@ -40,10 +62,7 @@ public record Student(String firstName, String lastName, String id) {
 
         // Note. When no capital letter in lastName, prefix is whole lastName and last
         // is empty.
-        String prefix = lastName.substring(0, i).trim();
-        String last = lastName.substring(i);
-
-        return last + ", " + firstName + (prefix.isBlank() ? "" : " " + prefix);
+        return i;
     }
 
     /**
@@ -62,4 +81,16 @@ public record Student(String firstName, String lastName, String id) {
         return false;
     }
 
+    /**
+     * Hash code consistent with {@link #equals(Object)}: based on the ID only.
+     *
+     * @pre true
+     * @post {@code \result == this.id().hashCode()}
+     * @return this student's hash code
+     */
+    @Override
+    public int hashCode() {
+        return this.id().hashCode();
+    }
+
 }
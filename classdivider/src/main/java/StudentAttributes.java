@@ -0,0 +1,122 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Attributes of students, such as programme or language, by student ID.
+ *
+ * Attributes come from the extra columns of a students file, after the ID
+ * column, see {@link #fromCSV(Path)}. They are kept in this side table
+ * rather than in {@link Student}, so students stay equal by ID only and
+ * classes without attributes cost nothing extra.
+ */
+public final class StudentAttributes {
+
+    /*
+     * Number of columns before the attribute columns: first name, last name, and ID.
+     */
+    private static final int STUDENT_COLUMNS = 3;
+
+    private final List<String> names;
+    private final Map<String, String[]> values = new HashMap<>();
+
+    /**
+     * Create an empty table of attributes.
+     *
+     * @pre true
+     * @param names names of the attributes, in column order
+     */
+    public StudentAttributes(List<String> names) {
+        this.names = List.copyOf(names);
+    }
+
+    /**
+     * Read the attributes of the students in a CSV file.
+     *
+     * Every column after the ID column is an attribute, named by its header.
+     * A file without extra columns gives a table without attributes.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return the attributes of the students in the file
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a student has no ID column
+     */
+    public static StudentAttributes fromCSV(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file);
+                CSVParser records = CSVParser.parse(reader, CSVFormat.DEFAULT)) {
+            Iterator<CSVRecord> iterator = records.iterator();
+            if (!iterator.hasNext()) {
+                return new StudentAttributes(List.of());
+            }
+
+            StudentAttributes attributes = new StudentAttributes(attributeValues(iterator.next()));
+            while (iterator.hasNext()) {
+                CSVRecord record = iterator.next();
+                if (record.size() < STUDENT_COLUMNS) {
+                    throw new IllegalArgumentException(
+                            "Student %d: expected a first name, last name, and ID."
+                                    .formatted(record.getRecordNumber()));
+                }
+                attributes.add(record.get(STUDENT_COLUMNS - 1), attributeValues(record));
+            }
+            return attributes;
+        }
+    }
+
+    private static List<String> attributeValues(CSVRecord record) {
+        List<String> fields = record.toList();
+        return fields.subList(Math.min(STUDENT_COLUMNS, fields.size()), fields.size());
+    }
+
+    /**
+     * Set the attributes of a student, unless they are set already.
+     *
+     * As with {@link Group}, the first student with an ID wins.
+     *
+     * @pre true
+     * @param id student's ID
+     * @param studentValues value of each attribute, in the order of
+     *     {@link #names()}; missing values are empty
+     */
+    public void add(String id, List<String> studentValues) {
+        String[] row = new String[names.size()];
+        Arrays.fill(row, "");
+        for (int a = 0; a < Math.min(row.length, studentValues.size()); a++) {
+            row[a] = studentValues.get(a);
+        }
+        values.putIfAbsent(id, row);
+    }
+
+    /**
+     * Names of the attributes.
+     *
+     * @pre true
+     * @return attribute names, in column order
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Value of an attribute of a student.
+     *
+     * @pre {@code 0 <= attribute < names().size()}
+     * @param student the student
+     * @param attribute index of the attribute in {@link #names()}
+     * @return the value, or the empty string if the student has none
+     */
+    public String get(Student student, int attribute) {
+        String[] row = values.get(student.id());
+        return row == null ? "" : row[attribute];
+    }
+}
@@ -0,0 +1,353 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar table of students for very large classes.
+ *
+ * Instead of a {@link Student} object with three strings per student, the
+ * table stores each column in a primitive array: first and last names as
+ * {@code int} codes into a shared dictionary of distinct names, and IDs as
+ * {@code long} values when all IDs are plain decimal numbers, falling back to
+ * an array of strings otherwise. Rows are addressed by index, so a class can
+ * be divided without creating any {@code Student} objects, see
+ * {@link ClassDivider#divide(StudentTable, int, int)}.
+ *
+ * Like a {@link Group}, a table contains every ID at most once; when adding a
+ * student with an ID already in the table, the student is ignored. While
+ * the IDs are numeric, the builder finds duplicates with a hash table of row
+ * indices into the {@code long} IDs, so it does not keep a string per ID.
+ */
+public final class StudentTable {
+
+    /*
+     * Longest decimal ID that certainly fits in a long.
+     */
+    private static final int MAX_NUMERIC_ID_LENGTH = 18;
+
+    /*
+     * 2^64 divided by the golden ratio, to spread IDs over the hash table.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final String[] names;
+    private final int[] firstNames;
+    private final int[] lastNames;
+    private final long[] numericIds;
+    private final String[] ids;
+    private final int size;
+
+    /*
+     * Invariant: exactly one of numericIds and ids is null.
+     */
+    private StudentTable(Builder builder) {
+        this.names = builder.names.toArray(String[]::new);
+        this.size = builder.size;
+        this.firstNames = Arrays.copyOf(builder.firstNames, size);
+        this.lastNames = Arrays.copyOf(builder.lastNames, size);
+        this.numericIds = builder.ids == null ? Arrays.copyOf(builder.numericIds, size) : null;
+        this.ids = builder.ids == null ? null : builder.ids.toArray(String[]::new);
+    }
+
+    /**
+     * Create a table with the students in a group, in insertion order.
+     *
+     * @pre true
+     * @param students group of students
+     * @return table with the students
+     */
+    public static StudentTable of(Group<Student> students) {
+        Builder builder = new Builder(students.size());
+        for (Student student : students.inOrder()) {
+            builder.add(student.firstName(), student.lastName(), student.id());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create a table with the students in a CSV file, in file order.
+     *
+     * The file is read with {@link MappedStudentsFile}; no {@code Student}
+     * objects are created.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return table with the students
+     * @throws IOException when an I/O error occurs
+     */
+    public static StudentTable fromCSV(Path file) throws IOException {
+        MappedStudentsFile students = MappedStudentsFile.open(file);
+        Builder builder = new Builder(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            builder.add(students.firstName(i), students.lastName(i), students.id(i));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Number of students in this table.
+     *
+     * @pre true
+     * @return number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * First name of the student in a row.
+     *
+     * @param row index of row
+     * @pre {@code 0 <= row < size()}
+     * @return first name
+     */
+    public String firstName(int row) {
+        return names[firstNames[row]];
+    }
+
+    /**
+     * Last name of the student in a row.
+     *
+     * @param row index of row
+     * @pre {@code 0 <= row < size()}
+     * @return last name
+     */
+    public String lastName(int row) {
+        return names[lastNames[row]];
+    }
+
+    /**
+     * ID of the student in a row.
+     *
+     * @param row index of row
+     * @pre {@code 0 <= row < size()}
+     * @return ID
+     */
+    public String id(int row) {
+        return ids == null ? Long.toString(numericIds[row]) : ids[row];
+    }
+
+    /**
+     * Determine if the IDs are stored as numbers.
+     *
+     * @pre true
+     * @return true if all IDs are plain decimal numbers, false otherwise
+     */
+    public boolean hasNumericIds() {
+        return ids == null;
+    }
+
+    /**
+     * Create the student in a row.
+     *
+     * @param row index of row
+     * @pre {@code 0 <= row < size()}
+     * @return student
+     */
+    public Student student(int row) {
+        return new Student(firstName(row), lastName(row), id(row));
+    }
+
+    /**
+     * Create a group with the students in some rows.
+     *
+     * Use this to convert a division computed on this table to groups.
+     *
+     * @param rows indices of rows
+     * @pre {@code (\forall i; rows.has(i); 0 <= rows[i] < size())}
+     * @return group of students in the rows
+     */
+    public Group<Student> toGroup(int[] rows) {
+        Group<Student> group = new Group<>();
+        for (int row : rows) {
+            group.add(student(row));
+        }
+        return group;
+    }
+
+    /**
+     * Create a group with all students in this table.
+     *
+     * @pre true
+     * @return group of students, in row order
+     */
+    public Group<Student> toGroup() {
+        Group<Student> group = new Group<>();
+        for (int row = 0; row < size; row++) {
+            group.add(student(row));
+        }
+        return group;
+    }
+
+    /**
+     * Determine if an ID is a plain decimal number that fits in a long.
+     *
+     * Leading zeros are not allowed, as they would be lost.
+     */
+    static boolean isNumericId(String id) {
+        boolean leadingZero = id.length() > 1 && id.charAt(0) == '0';
+        if (id.isEmpty() || id.length() > MAX_NUMERIC_ID_LENGTH || leadingZero) {
+            return false;
+        }
+        return id.chars().allMatch(c -> '0' <= c && c <= '9');
+    }
+
+    /**
+     * Builder for a {@code StudentTable}.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] firstNames;
+        private int[] lastNames;
+        private long[] numericIds;
+        private List<String> ids;
+        private int size;
+
+        /*
+         * While the IDs are numeric: open-addressing hash table of the rows
+         * by ID, each slot holding row + 1, or 0 when empty. Its length is a
+         * power of two and at least twice the number of rows. Otherwise
+         * null, and seenIds holds the IDs.
+         */
+        private int[] idSlots;
+        private Set<String> seenIds;
+
+        /**
+         * Create a builder for a table of about the expected number of students.
+         *
+         * @param expectedSize expected number of students
+         * @pre {@code 0 <= expectedSize}
+         */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            firstNames = new int[capacity];
+            lastNames = new int[capacity];
+            numericIds = new long[capacity];
+            idSlots = new int[Integer.highestOneBit(capacity - 1) << 2];
+        }
+
+        /**
+         * Add a student to the table, unless a student with the same ID was added.
+         *
+         * @param firstName first name
+         * @param lastName last name
+         * @param id ID
+         * @pre true
+         * @return true if the student was added, false otherwise
+         */
+        public boolean add(String firstName, String lastName, String id) {
+            if (size == firstNames.length) {
+                grow();
+            }
+            if (!addId(id)) {
+                return false;
+            }
+
+            firstNames[size] = code(firstName);
+            lastNames[size] = code(lastName);
+            size++;
+            return true;
+        }
+
+        private int code(String name) {
+            Integer code = codes.get(name);
+            if (code == null) {
+                code = names.size();
+                codes.put(name, code);
+                names.add(name);
+            }
+            return code;
+        }
+
+        /**
+         * Store the ID of the next row, unless it is already in the table.
+         */
+        private boolean addId(String id) {
+            if (ids == null && isNumericId(id)) {
+                numericIds[size] = Long.parseLong(id);
+                return addNumericId();
+            }
+            if (ids == null) {
+                // First non-numeric ID: switch to storing IDs as strings.
+                switchToStringIds();
+            }
+            if (!seenIds.add(id)) {
+                return false;
+            }
+            ids.add(id);
+            return true;
+        }
+
+        private void switchToStringIds() {
+            ids = new ArrayList<>(firstNames.length);
+            for (int i = 0; i < size; i++) {
+                ids.add(Long.toString(numericIds[i]));
+            }
+            seenIds = new HashSet<>(ids);
+            numericIds = null;
+            idSlots = null;
+        }
+
+        /**
+         * Add the next row to the hash table of IDs, unless its ID is there.
+         */
+        private boolean addNumericId() {
+            if (2 * (size + 1) > idSlots.length) {
+                rehash(2 * idSlots.length);
+            }
+            long id = numericIds[size];
+            int slot = slot(id);
+            while (idSlots[slot] != 0) {
+                if (numericIds[idSlots[slot] - 1] == id) {
+                    return false;
+                }
+                slot = (slot + 1) & (idSlots.length - 1);
+            }
+            idSlots[slot] = size + 1;
+            return true;
+        }
+
+        private void rehash(int length) {
+            idSlots = new int[length];
+            for (int row = 0; row < size; row++) {
+                int slot = slot(numericIds[row]);
+                while (idSlots[slot] != 0) {
+                    slot = (slot + 1) & (length - 1);
+                }
+                idSlots[slot] = row + 1;
+            }
+        }
+
+        private int slot(long id) {
+            return (int) ((id * GOLDEN_RATIO) >>> Integer.SIZE) & (idSlots.length - 1);
+        }
+
+        private void grow() {
+            int capacity = 2 * firstNames.length;
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            if (numericIds != null) {
+                numericIds = Arrays.copyOf(numericIds, capacity);
+            }
+        }
+
+        /**
+         * Build the table with the added students.
+         *
+         * @pre true
+         * @return table
+         */
+        public StudentTable build() {
+            return new StudentTable(this);
+        }
+    }
+
+}
@@ -1,6 +1,12 @@
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
@@ -16,6 +22,7 @@ public class StudentsFile {
     private static final String FIRST_NAME = "first name";
     private static final String LAST_NAME = "last name";
     private static final String ID = "ID";
+    private static final String GROUP = "group";
 
     private static final CSVFormat CSV_FORMAT = CSVFormat.Builder
             .create(CSVFormat.DEFAULT)
@@ -23,6 +30,11 @@ public class StudentsFile {
             .setSkipHeaderRecord(true)
             .build();
 
+    private static final CSVFormat GROUPED_CSV_FORMAT = CSVFormat.Builder
+            .create(CSVFormat.DEFAULT)
+            .setHeader(GROUP, FIRST_NAME, LAST_NAME, ID)
+            .build();
+
     /**
      * Create a group of students from a CSV file.
      *
@@ -32,7 +44,30 @@ public class StudentsFile {
      * @throws IOException when an I/O error occurs
      */
     public static Group<Student> fromCSV(Path file) throws IOException {
-        return fromCSV(Files.readString(file));
+        Group<Student> students = new Group<>();
+        fromCSV(file, students::add);
+        return students;
+    }
+
+    /**
+     * Read the students in a CSV file one by one.
+     *
+     * The file is parsed while it is read, so working memory does not grow
+     * with the size of the file. Each student is passed to the consumer as
+     * soon as its record has been read.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @param consumer receives the students in file order
+     * @throws IOException when an I/O error occurs
+     */
+    public static void fromCSV(Path file, Consumer<Student> consumer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file);
+                CSVParser records = CSVParser.parse(reader, CSV_FORMAT)) {
+            for (CSVRecord record : records) {
+                consumer.accept(toStudent(record));
+            }
+        }
     }
 
     /**
@@ -50,19 +85,127 @@ public class StudentsFile {
         // TODO: actual validation of the records
 
         for (CSVRecord record : records) {
-            students.add(new Student(
-                    record.get(FIRST_NAME),
-                    record.get(LAST_NAME),
-                    record.get(ID)
-            ));
+            students.add(toStudent(record));
+        }
+
+        return students;
+    }
+
+    /**
+     * Create a group of students from a CSV file, using a binary snapshot.
+     *
+     * When the file has a snapshot (see {@link StudentsSnapshot#pathFor(Path)})
+     * that was made from the file's current version, the students are loaded
+     * from the snapshot. Otherwise, or when the snapshot cannot be read, the
+     * CSV file is parsed and a new snapshot is written for the next time. When
+     * the snapshot cannot be written, for example because a name is too long
+     * for it, the students are returned all the same.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromCSVCached(Path file) throws IOException {
+        Path snapshot = StudentsSnapshot.pathFor(file);
+        FileTime modified = Files.getLastModifiedTime(file);
+
+        if (StudentsSnapshot.isFresh(snapshot, modified)) {
+            try {
+                return StudentsSnapshot.read(snapshot);
+            } catch (IOException e) {
+                // Unreadable snapshot; fall back to the CSV file and rewrite it.
+            }
         }
 
+        Group<Student> students = fromCSV(file);
+        try {
+            StudentsSnapshot.write(snapshot, students, modified);
+        } catch (IOException | IllegalArgumentException e) {
+            // No snapshot this time; the next read parses the CSV file again.
+        }
         return students;
     }
 
+    /**
+     * Create a group of students from a CSV file by memory-mapping it.
+     *
+     * Faster than {@link #fromCSV(Path)} for large files, in particular when
+     * the same file is read repeatedly. See {@link MappedStudentsFile} for the
+     * supported format and limitations.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromMappedCSV(Path file) throws IOException {
+        return MappedStudentsFile.open(file).toGroup();
+    }
+
+    /**
+     * Create a group of students from a CSV file, parsing it on all cores.
+     *
+     * The file is memory-mapped, split into chunks at record boundaries, and
+     * the chunks are parsed in parallel. When several records have the same
+     * ID, the first one in the file is kept, as with {@link #fromCSV(Path)}.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return group of students
+     * @throws IOException when an I/O error occurs
+     */
+    public static Group<Student> fromCSVParallel(Path file) throws IOException {
+        return MappedStudentsFile.openParallel(file).toGroupParallel();
+    }
+
+    /**
+     * Stream the students in a CSV file.
+     *
+     * The file is read lazily while the stream is consumed. The stream must be
+     * closed to release the file, preferably with try-with-resources.
+     * I/O errors while consuming the stream are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @pre true
+     * @param file path to file with CSV data
+     * @return stream of students in file order
+     * @throws IOException when an I/O error occurs opening the file
+     */
+    public static Stream<Student> stream(Path file) throws IOException {
+        Reader reader = Files.newBufferedReader(file);
+        try {
+            CSVParser records = CSVParser.parse(reader, CSV_FORMAT);
+            return records.stream()
+                    .map(StudentsFile::toStudent)
+                    .onClose(() -> close(records));
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    private static void close(CSVParser records) {
+        try {
+            records.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Student toStudent(CSVRecord record) {
+        return new Student(
+                record.get(FIRST_NAME),
+                record.get(LAST_NAME),
+                record.get(ID)
+        );
+    }
+
     /**
      * Convert a group of students as CSV string.
      *
+     * The students are listed in the order they were added to the group.
+     *
      * @pre true
      * @param students group of students
      * @return CSV string
@@ -72,9 +215,7 @@ public class StudentsFile {
         StringBuilder csv = new StringBuilder();
 
         try (CSVPrinter printer = new CSVPrinter(csv, CSV_FORMAT)) {
-            for (Student student : students) {
-                printer.printRecord(student.firstName(), student.lastName(), student.id());
-            }
+            printStudents(printer, students);
         }
 
         return csv.toString();
@@ -83,13 +224,55 @@ public class StudentsFile {
     /**
      * Write a group of students to a CSV file.
      *
+     * The students are written one by one to a buffered writer, in the order
+     * they were added to the group.
+     *
      * @pre true
      * @param file path to CSV file
      * @param students group of students
      * @throws java.io.IOException when an I/O error occurs
      */
     public static void toCSV(Path file, Group<Student> students) throws IOException {
-        Files.writeString(file, toCSV(students));
+        try (Writer writer = Files.newBufferedWriter(file);
+                CSVPrinter printer = new CSVPrinter(writer, CSV_FORMAT)) {
+            printStudents(printer, students);
+        }
+    }
+
+    /**
+     * Write a division of students into groups to a CSV file.
+     *
+     * The file starts with the header {@code group,first name,last name,ID},
+     * followed by a record per student. Groups are numbered from 1 in
+     * iteration order; the students in a group are written in the order they
+     * were added to the group. Records are written one by one to a buffered
+     * writer.
+     *
+     * @pre true
+     * @param file path to CSV file
+     * @param groups groups of students
+     * @throws java.io.IOException when an I/O error occurs
+     */
+    public static void toGroupedCSV(Path file, Iterable<Group<Student>> groups)
+            throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file);
+                CSVPrinter printer = new CSVPrinter(writer, GROUPED_CSV_FORMAT)) {
+            int groupNr = 0;
+            for (Group<Student> group : groups) {
+                groupNr++;
+                for (Student student : group.inOrder()) {
+                    printer.printRecord(
+                            groupNr, student.firstName(), student.lastName(), student.id());
+                }
+            }
+        }
+    }
+
+    private static void printStudents(CSVPrinter printer, Group<Student> students)
+            throws IOException {
+        for (Student student : students.inOrder()) {
+            printer.printRecord(student.firstName(), student.lastName(), student.id());
+        }
     }
 
 }
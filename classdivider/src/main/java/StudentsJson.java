@@ -0,0 +1,73 @@
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Convert students and groups to and from the JSON representation used by
+ * {@link DividerServer}: a student is an object with {@code firstName},
+ * {@code lastName}, and {@code id}.
+ */
+final class StudentsJson {
+
+    private static final String NAME = "name";
+    private static final String FIRST_NAME = "firstName";
+    private static final String LAST_NAME = "lastName";
+    private static final String ID = "id";
+
+    private StudentsJson() {
+    }
+
+    /**
+     * Create a group of students from a JSON array of student objects.
+     *
+     * @throws IllegalArgumentException when the JSON is invalid or not an
+     *     array of students
+     */
+    static Group<Student> fromJson(String json) {
+        if (!(Json.parse(json) instanceof List<?> students)) {
+            throw new IllegalArgumentException("Expected a JSON array of students.");
+        }
+        Group<Student> klas = new Group<>();
+        for (Object student : students) {
+            if (!(student instanceof Map<?, ?> fields)) {
+                throw new IllegalArgumentException("Expected a JSON object for each student.");
+            }
+            klas.add(new Student(field(fields, FIRST_NAME), field(fields, LAST_NAME),
+                    field(fields, ID)));
+        }
+        return klas;
+    }
+
+    private static String field(Map<?, ?> student, String name) {
+        Object value = student.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Student without %s.".formatted(name));
+        }
+        // Allow numeric IDs, without turning 123 into 123.0
+        return value instanceof BigDecimal number ? number.toPlainString() : value.toString();
+    }
+
+    /**
+     * Convert groups to a list of JSON arrays of student objects, each with
+     * the student's display name as {@code name}.
+     */
+    static List<List<Map<String, String>>> toJson(List<Group<Student>> groups,
+            DisplayNames names) {
+        List<List<Map<String, String>>> json = new ArrayList<>(groups.size());
+        for (Group<Student> group : groups) {
+            List<Map<String, String>> members = new ArrayList<>(group.size());
+            for (Student student : group) {
+                Map<String, String> member = new LinkedHashMap<>();
+                member.put(NAME, names.get(student));
+                member.put(FIRST_NAME, student.firstName());
+                member.put(LAST_NAME, student.lastName());
+                member.put(ID, student.id());
+                members.add(member);
+            }
+            json.add(members);
+        }
+        return json;
+    }
+}
@@ -0,0 +1,248 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of a group of students.
+ *
+ * A snapshot is written once after parsing a CSV file and can be loaded much
+ * faster than parsing the CSV file again. It records the last modified time
+ * of the CSV file it was made from, so a stale snapshot can be detected.
+ *
+ * Format, all numbers big-endian:
+ *
+ * <ul>
+ * <li>header: magic {@code "CDSS"} (int), version (int), last modified time
+ * of the source in milliseconds (long), number of students (int), number of
+ * names in the string table (int), and the CRC-32 checksum of the payload
+ * (long)</li>
+ * <li>payload, string table: per distinct first or last name, its length in
+ * bytes (unsigned short) followed by its UTF-8 bytes</li>
+ * <li>payload, records: per student, the string table index of the first name
+ * (int), the string table index of the last name (int), and the ID's length in
+ * bytes (unsigned short) followed by its UTF-8 bytes</li>
+ * </ul>
+ */
+public final class StudentsSnapshot {
+
+    private static final int MAGIC = 0x43445353; // "CDSS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 8;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private StudentsSnapshot() {
+    }
+
+    /**
+     * Path of the snapshot belonging to a CSV file: the same path with
+     * {@code .snapshot} appended.
+     *
+     * @pre true
+     * @param csvFile path to CSV file
+     * @return path to the snapshot of the CSV file
+     */
+    public static Path pathFor(Path csvFile) {
+        return csvFile.resolveSibling(csvFile.getFileName() + ".snapshot");
+    }
+
+    /**
+     * Write a snapshot of a group of students.
+     *
+     * The snapshot is written to a new temporary file in the same directory
+     * first and then moved into place, so readers never see a partially
+     * written snapshot, nor do concurrent writers overwrite each other's. The
+     * temporary file is deleted when writing fails.
+     *
+     * @pre every name and ID is at most 65535 bytes in UTF-8
+     * @param file path to snapshot file
+     * @param students group of students
+     * @param sourceModified last modified time of the file the students were read from
+     * @throws IOException when an I/O error occurs
+     * @throws IllegalArgumentException when a name or ID is too long
+     */
+    public static void write(Path file, Group<Student> students, FileTime sourceModified)
+            throws IOException {
+        ByteBuffer snapshot = toBytes(students, sourceModified);
+
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(),
+                file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (snapshot.hasRemaining()) {
+                    channel.write(snapshot);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            // Only left when writing or moving failed
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static ByteBuffer toBytes(Group<Student> students, FileTime sourceModified) {
+        // First pass: build the string table and encode all strings, to know
+        // the payload's size.
+        Map<String, Integer> names = new HashMap<>();
+        List<byte[]> table = new ArrayList<>();
+        List<byte[]> ids = new ArrayList<>(students.size());
+        int size = 0;
+        for (Student student : students.inOrder()) {
+            size += addName(names, table, student.firstName());
+            size += addName(names, table, student.lastName());
+            ids.add(encode(student.id()));
+            size += 2 * Integer.BYTES + Short.BYTES + ids.get(ids.size() - 1).length;
+        }
+
+        // Second pass: write the header and the payload.
+        ByteBuffer snapshot = ByteBuffer.allocate(HEADER_SIZE + size);
+        snapshot.position(HEADER_SIZE);
+        for (byte[] name : table) {
+            snapshot.putShort((short) name.length).put(name);
+        }
+        int i = 0;
+        for (Student student : students.inOrder()) {
+            snapshot.putInt(names.get(student.firstName()))
+                    .putInt(names.get(student.lastName()))
+                    .putShort((short) ids.get(i).length)
+                    .put(ids.get(i++));
+        }
+
+        snapshot.position(HEADER_SIZE);
+        long checksum = checksum(snapshot);
+        snapshot.clear()
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(sourceModified.toMillis())
+                .putInt(students.size())
+                .putInt(table.size())
+                .putLong(checksum)
+                .clear();
+        return snapshot;
+    }
+
+    /**
+     * Add name to the string table if new and return the bytes it adds to the payload.
+     */
+    private static int addName(Map<String, Integer> names, List<byte[]> table, String name) {
+        if (names.containsKey(name)) {
+            return 0;
+        }
+        names.put(name, table.size());
+        table.add(encode(name));
+        return Short.BYTES + table.get(table.size() - 1).length;
+    }
+
+    private static byte[] encode(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Value is too long for a snapshot: '%s'.".formatted(value));
+        }
+        return bytes;
+    }
+
+    /**
+     * CRC-32 checksum of the remaining bytes in the buffer.
+     */
+    private static long checksum(ByteBuffer bytes) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes.duplicate());
+        return checksum.getValue();
+    }
+
+    /**
+     * Determine if a snapshot exists and was made from the current version of
+     * its source.
+     *
+     * @pre true
+     * @param file path to snapshot file
+     * @param sourceModified current last modified time of the source file
+     * @return true if the snapshot exists and records the same last modified
+     *     time, false otherwise
+     * @throws IOException when an I/O error occurs
+     */
+    public static boolean isFresh(Path file, FileTime sourceModified) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            return hasValidHeader(header) && header.getLong() == sourceModified.toMillis();
+        }
+    }
+
+    /**
+     * Read a group of students from a snapshot.
+     *
+     * The whole snapshot is memory-mapped and verified against its checksum
+     * before the students are read.
+     *
+     * @pre true
+     * @param file path to snapshot file
+     * @return group of students, in the order they were written
+     * @throws IOException when an I/O error occurs or the file is not a valid snapshot
+     */
+    public static Group<Student> read(Path file) throws IOException {
+        ByteBuffer bytes = MappedStudentsFile.map(file);
+        if (!hasValidHeader(bytes)) {
+            throw new IOException("'%s' is not a students snapshot.".formatted(file));
+        }
+        bytes.getLong(); // source modified
+        int count = bytes.getInt();
+        int tableSize = bytes.getInt();
+        long expectedChecksum = bytes.getLong();
+
+        if (checksum(bytes) != expectedChecksum) {
+            throw new IOException("Snapshot '%s' is corrupt.".formatted(file));
+        }
+
+        return readPayload(file, bytes, count, tableSize);
+    }
+
+    private static boolean hasValidHeader(ByteBuffer bytes) {
+        return bytes.limit() >= HEADER_SIZE
+                && bytes.getInt() == MAGIC
+                && bytes.getInt() == VERSION;
+    }
+
+    private static Group<Student> readPayload(Path file, ByteBuffer bytes, int count,
+            int tableSize) throws IOException {
+        try {
+            String[] table = new String[tableSize];
+            for (int i = 0; i < tableSize; i++) {
+                table[i] = readString(bytes);
+            }
+
+            Group<Student> students = new Group<>();
+            for (int i = 0; i < count; i++) {
+                String firstName = table[bytes.getInt()];
+                String lastName = table[bytes.getInt()];
+                students.add(new Student(firstName, lastName, readString(bytes)));
+            }
+            return students;
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot '%s' is corrupt.".formatted(file), e);
+        }
+    }
+
+    private static String readString(ByteBuffer bytes) {
+        byte[] value = new byte[Short.toUnsignedInt(bytes.getShort())];
+        bytes.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+}
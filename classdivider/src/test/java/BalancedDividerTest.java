@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test BalancedDivider class.
+ */
+public class BalancedDividerTest {
+
+    private static final List<String> PROGRAMMES = List.of("CS", "DS", "EE", "AM");
+    private static final List<String> LANGUAGES = List.of("nl", "en");
+
+    private final Group<Student> klas = new Group<>();
+    private final StudentAttributes attributes =
+            new StudentAttributes(List.of("programme", "language"));
+
+    private void addStudents(int count) {
+        for (int i = 0; i < count; i++) {
+            Student student = new Student("First" + i, "Last" + i, String.valueOf(i));
+            klas.add(student);
+            attributes.add(student.id(), List.of(
+                    PROGRAMMES.get(i % PROGRAMMES.size()),
+                    LANGUAGES.get(i / 3 % LANGUAGES.size())));
+        }
+    }
+
+    private int count(Group<Student> group, int attribute, String value) {
+        int count = 0;
+        for (Student student : group) {
+            count += attributes.get(student, attribute).equals(value) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Test of divide method, of class BalancedDivider, when a perfect balance exists.
+     */
+    @Test
+    public void testDivide_Perfect() {
+        addStudents(40);
+
+        for (int seed = 0; seed < 20; seed++) {
+            List<Group<Student>> groups = new BalancedDivider(new SplittableRandom(seed))
+                    .divide(klas, 8, 1, attributes);
+
+            assertEquals(5, groups.size());
+            for (Group<Student> group : groups) {
+                assertEquals(8, group.size());
+                for (String programme : PROGRAMMES) {
+                    assertEquals(2, count(group, 0, programme));
+                }
+            }
+            assertEquals(40, groups.stream().mapToInt(Group::size).sum());
+        }
+    }
+
+    /**
+     * Test of divide method, of class BalancedDivider, with a larger class.
+     */
+    @Test
+    public void testDivide_Large() {
+        addStudents(2_000);
+        List<Group<Student>> random = new ArrayList<>(ClassDividerTest.SUT.divide(klas, 5, 1));
+
+        List<Group<Student>> balanced = new BalancedDivider().divide(klas, 5, 1, attributes);
+
+        assertEquals(random.size(), balanced.size());
+        assertEquals(klas.size(), balanced.stream().mapToInt(Group::size).sum());
+        assertTrue(BalancedDivider.imbalance(balanced, attributes)
+                < BalancedDivider.imbalance(random, attributes) / 2);
+    }
+
+    /**
+     * Test of divide method, of class BalancedDivider, with a class that
+     * cannot be divided or students without attributes.
+     */
+    @Test
+    public void testDivide_Edge() {
+        addStudents(7);
+        assertEquals(List.of(), new BalancedDivider().divide(klas, 5, 1, attributes));
+
+        List<Group<Student>> groups = new BalancedDivider()
+                .divide(klas, 3, 1, new StudentAttributes(List.of()));
+        assertEquals(2, groups.size());
+        assertEquals(0.0, BalancedDivider.imbalance(groups, new StudentAttributes(List.of())));
+    }
+}
@@ -0,0 +1,170 @@
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test BatchDivider and BatchJobs classes.
+ */
+public class BatchDividerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeClass(String name, int count) throws Exception {
+        StringBuilder csv = new StringBuilder("first name,last name,ID\r\n");
+        for (int i = 0; i < count; i++) {
+            csv.append("First%d,Last%d,%s-%d\r\n".formatted(i, i, name, i));
+        }
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    /**
+     * Test of read method, of class BatchJobs, with a directory.
+     */
+    @Test
+    public void testRead_Directory() throws Exception {
+        Path b = writeClass("b.lst", 10);
+        Path a = writeClass("a.csv", 10);
+        writeClass("notes.txt", 10);
+
+        assertEquals(List.of(
+                new BatchDivider.Job(a, 4, 1),
+                new BatchDivider.Job(b, 4, 1)
+        ), BatchJobs.read(tempDir, 4, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> BatchJobs.read(tempDir, null, 1));
+    }
+
+    /**
+     * Test of read method, of class BatchJobs, with a manifest.
+     */
+    @Test
+    public void testRead_Manifest() throws Exception {
+        Path manifest = tempDir.resolve("manifest.csv");
+        // The manifest starts with a byte order mark, as written by Excel
+        Files.writeString(manifest, "\uFEFF" + """
+                file,group size,deviation
+                a.lst,5,2
+                sub/b.lst,,
+                c.lst,3
+                """);
+
+        assertEquals(List.of(
+                new BatchDivider.Job(tempDir.resolve("a.lst"), 5, 2),
+                new BatchDivider.Job(tempDir.resolve("sub/b.lst"), 4, 1),
+                new BatchDivider.Job(tempDir.resolve("c.lst"), 3, 1)
+        ), BatchJobs.read(manifest, 4, 1));
+
+        // Without a default, every class needs a group size
+        assertThrows(IllegalArgumentException.class, () -> BatchJobs.read(manifest, null, 1));
+
+        Files.writeString(manifest, "class,group size\na.lst,4\n");
+        assertThrows(IllegalArgumentException.class, () -> BatchJobs.read(manifest, 4, 1));
+    }
+
+    /**
+     * Test of divideAll method, of class BatchDivider.
+     */
+    @Test
+    public void testDivideAll() throws Exception {
+        List<BatchDivider.Job> jobs = List.of(
+                new BatchDivider.Job(writeClass("a.lst", 30), 4, 1),
+                new BatchDivider.Job(writeClass("b.lst", 2), 4, 1),
+                new BatchDivider.Job(tempDir.resolve("missing.lst"), 4, 1),
+                new BatchDivider.Job(writeClass("c.lst", 17), 3, 1)
+        );
+        BatchDivider batch = new BatchDivider(tempDir.resolve("out"), 2);
+        List<BatchDivider.Result> results = batch.divideAll(jobs);
+
+        assertEquals(4, results.size());
+        assertEquals(List.of(true, false, false, true),
+                results.stream().map(BatchDivider.Result::succeeded).toList());
+
+        BatchDivider.Result a = results.get(0);
+        assertEquals(jobs.get(0), a.job());
+        assertEquals(30, a.students());
+        String output = Files.readString(batch.outputFor(a.job()));
+        assertEquals(a.groups(), output.split("Group ").length - 1);
+        assertEquals(30, output.lines().filter(line -> line.startsWith("- ")).count());
+
+        assertTrue(results.get(1).error().contains("Unable to divide"));
+        assertFalse(Files.exists(batch.outputFor(jobs.get(1))));
+
+        // Two classes with the same name would overwrite each other's groups
+        assertThrows(IllegalArgumentException.class, () -> batch.divideAll(List.of(
+                jobs.get(0), new BatchDivider.Job(tempDir.resolve("x/a.lst"), 4, 1))));
+        assertThrows(IllegalArgumentException.class, () -> new BatchDivider(tempDir, 0));
+    }
+
+    /**
+     * Test of run method, of class BatchDivider.
+     */
+    @Test
+    public void testRun() throws Exception {
+        List<BatchDivider.Job> jobs = List.of(
+                new BatchDivider.Job(writeClass("a.lst", 30), 4, 1),
+                new BatchDivider.Job(writeClass("b.lst", 2), 4, 1),
+                new BatchDivider.Job(writeClass("c.lst", 17), 3, 1)
+        );
+        BatchDivider.Summary summary = new BatchDivider(tempDir.resolve("out"), 2).run(jobs);
+
+        assertEquals(3, summary.results().size());
+        assertEquals(2, summary.divided());
+        assertEquals(47, summary.students());
+        assertEquals(List.of(jobs.get(1)),
+                summary.failures().stream().map(BatchDivider.Result::job).toList());
+        assertTrue(summary.seconds() > 0);
+    }
+
+    /**
+     * Test that the command-line interface rejects options that batch mode
+     * does not use.
+     */
+    @Test
+    public void testBatchOptions() throws Exception {
+        writeClass("a.lst", 30);
+        String dir = tempDir.toString();
+        String out = tempDir.resolve("out").toString();
+        for (List<String> options : List.of(List.of("--serve"), List.of("--balance"),
+                List.of("--history"), List.of("--starts", "3"), List.of("--format", "csv"),
+                List.of("--output", "groups.txt"), List.of("students.lst"))) {
+            List<String> args = new ArrayList<>(
+                    List.of("--batch", dir, "--output-dir", out, "-g", "4"));
+            args.addAll(options);
+            assertEquals(2, new CommandLine(new ClassDividerCLI())
+                    .setErr(new PrintWriter(Writer.nullWriter()))
+                    .execute(args.toArray(String[]::new)), options.toString());
+        }
+        assertFalse(Files.exists(tempDir.resolve("out")));
+    }
+
+    /**
+     * Test of divideAll method, of class BatchDivider, with a seed.
+     */
+    @Test
+    public void testDivideAll_Seed() throws Exception {
+        List<BatchDivider.Job> jobs = List.of(
+                new BatchDivider.Job(writeClass("a.lst", 30), 4, 1),
+                new BatchDivider.Job(writeClass("b.lst", 50), 5, 1),
+                new BatchDivider.Job(writeClass("c.lst", 17), 3, 1)
+        );
+        BatchDivider one = new BatchDivider(tempDir.resolve("one"), 1, 42);
+        BatchDivider four = new BatchDivider(tempDir.resolve("four"), 4, 42);
+        one.divideAll(jobs);
+        four.divideAll(jobs);
+
+        for (BatchDivider.Job job : jobs) {
+            assertEquals(Files.readString(one.outputFor(job)),
+                    Files.readString(four.outputFor(job)));
+        }
+    }
+}
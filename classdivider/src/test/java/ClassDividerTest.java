@@ -1,6 +1,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -83,4 +84,130 @@ public class ClassDividerTest {
         List<String> expected = new ArrayList<>();
         check(expected, actual);
     }
+
+    @Test
+    void divide_remainderExceedsGroupCount() {
+        // 30 = 3 * 8 + 6: three groups of 8 cannot take 6 more students
+        Group<Student> klas = createGroup(30);
+        Set<Group<Student>> actualGroups = SUT.divide(klas, 8, 1);
+        List<String> actual = extractGroupSizes(actualGroups);
+
+        List<String> expected = List.of(
+            "Group 1: 7 students",
+            "Group 2: 7 students",
+            "Group 3: 8 students",
+            "Group 4: 8 students"
+        );
+        check(expected, actual);
+    }
+
+    @Test
+    void divide_everyStudentPlaced() {
+        for (int size = 1; size <= 60; size++) {
+            Group<Student> klas = createGroup(size);
+            for (int groupSize = 1; groupSize <= 8; groupSize++) {
+                for (int deviation = 0; deviation < groupSize; deviation++) {
+                    String division = "%d into %d+/-%d".formatted(size, groupSize, deviation);
+                    Set<Group<Student>> groups = SUT.divide(klas, groupSize, deviation);
+                    assertEquals(SUT.isDividable(klas, groupSize, deviation), !groups.isEmpty(),
+                            division);
+
+                    Group<Student> placed = new Group<>();
+                    for (Group<Student> group : groups) {
+                        assertTrue(Math.abs(group.size() - groupSize) <= deviation, division);
+                        placed.addAll(group);
+                    }
+                    assertEquals(groups.isEmpty() ? 0 : size, placed.size(), division);
+                }
+            }
+        }
+    }
+
+    @Test
+    void groupSizes() {
+        // Closest number of groups to 1000 / 7, as even as possible
+        int[] sizes = ClassDivider.groupSizes(1000, 7, 1);
+        assertEquals(143, sizes.length);
+        assertEquals(6, sizes[0]);
+        assertEquals(7, sizes[142]);
+        assertEquals(1000, java.util.Arrays.stream(sizes).sum());
+
+        // On a tie, fewer and larger groups
+        assertArrayEquals(new int[] {2, 3}, ClassDivider.groupSizes(5, 2, 1));
+        assertArrayEquals(new int[] {2, 2, 2, 2, 2, 2}, ClassDivider.groupSizes(12, 2, 1));
+        assertArrayEquals(new int[0], ClassDivider.groupSizes(11, 2, 0));
+
+        // Closest is 0 groups, but at least one group is needed
+        assertArrayEquals(new int[] {10}, ClassDivider.groupSizes(10, 1_000_000, 999_999));
+    }
+
+    @Test
+    void divide_table() {
+        Group<Student> klas = createGroup(30);
+        StudentTable table = StudentTable.of(klas);
+        int[][] groups = SUT.divide(table, 8, 1);
+        assertEquals(4, groups.length);
+
+        Group<Student> placed = new Group<>();
+        for (int[] group : groups) {
+            placed.addAll(table.toGroup(group));
+        }
+        assertEquals(30, placed.size());
+        assertEquals(0, SUT.divide(table, 4, 0).length);
+    }
+
+    @Test
+    void divide_seeded() {
+        Group<Student> klas = createGroup(50);
+        List<List<Student>> first = new ArrayList<>();
+        for (Group<Student> group : new ClassDivider(42).divide(klas, 4, 1)) {
+            first.add(new ArrayList<>(group.inOrder()));
+        }
+        List<List<Student>> second = new ArrayList<>();
+        for (Group<Student> group : new ClassDivider(new SplittableRandom(42))
+                .divide(klas, 4, 1)) {
+            second.add(new ArrayList<>(group.inOrder()));
+        }
+        assertEquals(first, second);
+
+        int[][] table = new ClassDivider(7).divide(StudentTable.of(klas), 4, 1);
+        assertArrayEquals(table, new ClassDivider(7).divide(StudentTable.of(klas), 4, 1));
+    }
+
+    @Test
+    void divide_history() {
+        Group<Student> klas = createGroup(60);
+        PairingHistory history = new PairingHistory();
+
+        for (int round = 0; round < 6; round++) {
+            Set<Group<Student>> groups = new ClassDivider(round).divide(klas, 5, 1, history);
+
+            assertEquals(12, groups.size());
+            assertEquals(60, groups.stream().mapToInt(Group::size).sum());
+            assertEquals(0, history.repeats(groups));
+            history.record(groups);
+        }
+        assertEquals(Set.of(), new ClassDivider().divide(createGroup(7), 5, 1, history));
+    }
+
+    @Test
+    void redivide() {
+        Group<Student> klas = createGroup(30);
+        Set<Group<Student>> groups = SUT.divide(klas, 5, 1);
+        Student leaving = klas.inOrder().iterator().next();
+        Student joining = new Student("New", "Student", "ID30");
+
+        Set<Group<Student>> updated = SUT.redivide(groups, List.of(joining), List.of(leaving),
+                5, 1);
+        assertEquals(groups, updated);
+
+        Group<Student> placed = new Group<>();
+        for (Group<Student> group : updated) {
+            assertEquals(5, group.size());
+            placed.addAll(group);
+        }
+        assertEquals(30, placed.size());
+        assertTrue(placed.contains(joining));
+        assertFalse(placed.contains(leaving));
+    }
 }
@@ -0,0 +1,150 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test ConstrainedDivider, ConstraintsFile and Constraint classes.
+ */
+public class ConstrainedDividerTest {
+
+    private static Group<Student> klas(int size) {
+        Group<Student> klas = new Group<>();
+        for (int i = 0; i < size; i++) {
+            klas.add(new Student("First" + i, "Last" + i, String.valueOf(i)));
+        }
+        return klas;
+    }
+
+    private static int groupOf(List<Group<Student>> groups, String id) {
+        for (int g = 0; g < groups.size(); g++) {
+            for (Student student : groups.get(g)) {
+                if (student.id().equals(id)) {
+                    return g;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static void assertDivision(Group<Student> klas, int groupSize, int deviation,
+            List<Group<Student>> groups) {
+        int[] sizes = ClassDivider.groupSizes(klas.size(), groupSize, deviation);
+        assertEquals(sizes.length, groups.size());
+        Set<Student> placed = new HashSet<>();
+        for (Group<Student> group : groups) {
+            assertTrue(Math.abs(group.size() - groupSize) <= deviation);
+            for (Student student : group) {
+                assertTrue(placed.add(student));
+            }
+        }
+        assertEquals(klas.size(), placed.size());
+    }
+
+    /**
+     * Test of divide method, of class ConstrainedDivider, with satisfiable constraints.
+     */
+    @Test
+    public void testDivide_Satisfied() {
+        Group<Student> klas = klas(30);
+        List<Constraint> constraints = List.of(
+                Constraint.apart("0", "1", "2", "3", "4", "5"),
+                Constraint.together("0", "10", "20"),
+                Constraint.together("1", "11"),
+                Constraint.apart("10", "11"));
+
+        for (int run = 0; run < 20; run++) {
+            ConstrainedDivider.Result result = new ConstrainedDivider()
+                    .divide(klas, 5, 1, constraints);
+
+            assertTrue(result.isSatisfied(), result.unsatisfied()::toString);
+            assertDivision(klas, 5, 1, result.groups());
+            List<Group<Student>> groups = result.groups();
+            assertEquals(groupOf(groups, "0"), groupOf(groups, "20"));
+            assertEquals(groupOf(groups, "1"), groupOf(groups, "11"));
+            assertNotEquals(groupOf(groups, "0"), groupOf(groups, "1"));
+        }
+    }
+
+    /**
+     * Test of divide method, of class ConstrainedDivider, with constraints
+     * that cannot be satisfied.
+     */
+    @Test
+    public void testDivide_Unsatisfiable() {
+        Group<Student> klas = klas(12);
+        Constraint tooManyApart = Constraint.apart("0", "1", "2", "3");
+        Constraint tooManyTogether = Constraint.together("4", "5", "6", "7", "8");
+        Constraint possible = Constraint.apart("9", "10");
+
+        ConstrainedDivider.Result result = new ConstrainedDivider(Duration.ofMillis(100))
+                .divide(klas, 4, 0, List.of(tooManyApart, tooManyTogether, possible));
+
+        assertFalse(result.isSatisfied());
+        assertEquals(List.of(tooManyApart, tooManyTogether), result.unsatisfied());
+        assertDivision(klas, 4, 0, result.groups());
+    }
+
+    /**
+     * Test of divide method, of class ConstrainedDivider, with a class that
+     * cannot be divided or an unknown student.
+     */
+    @Test
+    public void testDivide_Invalid() {
+        ConstrainedDivider divider = new ConstrainedDivider();
+
+        assertEquals(new ConstrainedDivider.Result(List.of(), List.of()),
+                divider.divide(klas(7), 5, 1, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> divider.divide(klas(10), 5, 1, List.of(Constraint.apart("1", "42"))));
+    }
+
+    /**
+     * Test of divide method, of class ConstrainedDivider, with a large class
+     * and many constraints.
+     */
+    @Test
+    public void testDivide_Large() {
+        Group<Student> klas = klas(10_000);
+        List<Constraint> constraints = new ArrayList<>();
+        for (int i = 0; i < 4_000; i += 2) {
+            constraints.add(Constraint.apart(String.valueOf(i), String.valueOf(i + 1),
+                    String.valueOf(i + 2), String.valueOf(i + 3)));
+            constraints.add(Constraint.together(String.valueOf(5_000 + i),
+                    String.valueOf(5_001 + i)));
+        }
+
+        ConstrainedDivider.Result result = new ConstrainedDivider()
+                .divide(klas, 5, 1, constraints);
+
+        assertTrue(result.isSatisfied(), result.unsatisfied()::toString);
+        assertDivision(klas, 5, 1, result.groups());
+    }
+
+    /**
+     * Test of fromCSV method, of class ConstraintsFile.
+     */
+    @Test
+    public void testFromCSV() throws Exception {
+        assertEquals(List.of(
+                Constraint.apart("1", "2", "3"),
+                Constraint.together("4", "5")
+        ), ConstraintsFile.fromCSV("""
+                # Keep the loud ones apart
+                apart, 1, 2, 3
+                TOGETHER,4,5
+                """));
+
+        assertThrows(IllegalArgumentException.class, () -> ConstraintsFile.fromCSV("apart,1\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConstraintsFile.fromCSV("near,1,2\n"));
+        assertThrows(IllegalArgumentException.class, () -> Constraint.together("1"));
+        // A constraint on one student twice would never be satisfied
+        assertThrows(IllegalArgumentException.class,
+                () -> ConstraintsFile.fromCSV("apart,1810541,1810541\n"));
+        assertThrows(IllegalArgumentException.class, () -> Constraint.apart("1", "2", "1"));
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test DisplayNames class.
+ */
+public class DisplayNamesTest {
+
+    /**
+     * Test of get method, of class DisplayNames.
+     */
+    @Test
+    public void testGet() {
+        Student anna = new Student("Anna", "Smit", "1");
+        Student janBakker = new Student("Jan", "Bakker", "2");
+        Student janBos = new Student("Jan", "van den Bos", "3");
+        Student janVisser = new Student("Jan", "Visser", "4");
+        Student lisa = new Student("Lisa", "de Jong", "5");
+        Student lisa2 = new Student("Lisa", "Jong", "6");
+        Student lisa3 = new Student("Lisa", "Jongbloed", "7");
+
+        DisplayNames names = DisplayNames.of(
+                List.of(janVisser, lisa, anna, janBos, janBakker, lisa3, lisa2));
+
+        assertEquals("Anna", names.get(anna));
+        assertEquals("Jan Ba", names.get(janBakker));
+        assertEquals("Jan Bo", names.get(janBos));
+        assertEquals("Jan V", names.get(janVisser));
+        // Same sort last name, and one that is a prefix of another
+        assertEquals("Lisa de Jong (5)", names.get(lisa));
+        assertEquals("Lisa Jong (6)", names.get(lisa2));
+        assertEquals("Lisa Jongb", names.get(lisa3));
+    }
+
+    /**
+     * Test of get method, of class DisplayNames, with all-lowercase last
+     * names, whose sort last name is empty.
+     */
+    @Test
+    public void testGet_EmptySortLastName() {
+        Student janDe = new Student("Jan", "de", "1");
+        Student janBakker = new Student("Jan", "Bakker", "2");
+        Student lisaDe = new Student("Lisa", "de", "3");
+        Student lisaBos = new Student("Lisa", "Bos", "4");
+        Student lisaVan = new Student("Lisa", "van", "5");
+
+        DisplayNames names = DisplayNames.of(
+                List.of(janBakker, janDe, lisaBos, lisaDe, lisaVan));
+
+        assertEquals("Jan de", names.get(janDe));
+        assertEquals("Jan B", names.get(janBakker));
+        assertEquals("Lisa B", names.get(lisaBos));
+        // Two empty sort last names cannot be told apart
+        assertEquals("Lisa de (3)", names.get(lisaDe));
+        assertEquals("Lisa van (5)", names.get(lisaVan));
+    }
+
+    /**
+     * Test of get method, of class DisplayNames, with a large class.
+     */
+    @Test
+    public void testGet_Unique() {
+        Group<Student> klas = new Group<>();
+        for (int i = 0; i < 10_000; i++) {
+            klas.add(new Student("First" + i % 100, "Last" + i, String.valueOf(i)));
+        }
+
+        DisplayNames names = DisplayNames.of(klas.inOrder());
+
+        assertEquals(klas.size(), klas.inOrder().stream().map(names::get).distinct().count());
+        assertEquals("First7 Last7", names.get(new Student("First7", "Last7", "7")));
+        assertEquals("First7 Last107", names.get(new Student("First7", "Last107", "107")));
+    }
+}
@@ -0,0 +1,131 @@
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test DividerServer class.
+ */
+public class DividerServerTest {
+
+    private static final String CSV = """
+            first name,last name,ID
+            Anna,de Jong,1
+            Anna,Visser,2
+            Bram,Bakker,3
+            Daan,Smit,4
+            Emma,Bos,5
+            """;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private DividerServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = DividerServer.start(0, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    private HttpResponse<String> post(String path, String contentType, String body)
+            throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:%d%s".formatted(server.port(), path)))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Test of the /dividable endpoint.
+     */
+    @Test
+    public void testDividable() throws Exception {
+        HttpResponse<String> response = post("/dividable?groupSize=2&deviation=1",
+                "text/csv", CSV);
+        assertEquals(200, response.statusCode());
+        assertEquals(Map.of("dividable", true, "students", new BigDecimal(5)),
+                Json.parse(response.body()));
+
+        response = post("/dividable?groupSize=4&deviation=0", "text/csv; charset=utf-8", CSV);
+        assertEquals(Map.of("dividable", false, "students", new BigDecimal(5)),
+                Json.parse(response.body()));
+
+        // /divide rejects a deviation that is not smaller than the group size
+        response = post("/dividable?groupSize=4&deviation=5", "text/csv", CSV);
+        assertEquals(Map.of("dividable", false, "students", new BigDecimal(5)),
+                Json.parse(response.body()));
+        assertEquals(400, post("/divide?groupSize=4&deviation=5", "text/csv", CSV).statusCode());
+    }
+
+    /**
+     * Test of the /divide endpoint, with a class in CSV and in JSON.
+     */
+    @Test
+    public void testDivide() throws Exception {
+        String json = """
+                [{"firstName": "Anna", "lastName": "de Jong", "id": 1},
+                 {"firstName": "Anna", "lastName": "Visser", "id": "2"},
+                 {"firstName": "Bram", "lastName": "Bakker", "id": "3"},
+                 {"firstName": "Daan", "lastName": "Smit", "id": "4"},
+                 {"firstName": "Emma", "lastName": "Bos", "id": "5"}]
+                """;
+        for (HttpResponse<String> response : List.of(
+                post("/divide?groupSize=2", "text/csv", CSV),
+                post("/divide?groupSize=2", "application/json", json))) {
+            assertEquals(200, response.statusCode(), response.body());
+
+            List<?> groups = (List<?>) ((Map<?, ?>) Json.parse(response.body())).get("groups");
+            assertEquals(2, groups.size());
+            List<Object> ids = groups.stream()
+                    .flatMap(group -> ((List<?>) group).stream())
+                    .map(student -> ((Map<?, ?>) student).get("id"))
+                    .sorted()
+                    .map(Object.class::cast)
+                    .toList();
+            assertEquals(List.of("1", "2", "3", "4", "5"), ids);
+            assertTrue(response.body().contains(
+                    "{\"name\":\"Anna V\",\"firstName\":\"Anna\",\"lastName\":\"Visser\","
+                    + "\"id\":\"2\"}"));
+        }
+    }
+
+    /**
+     * Test of invalid requests.
+     */
+    @Test
+    public void testErrors() throws Exception {
+        assertEquals(400, post("/divide", "text/csv", CSV).statusCode());
+        assertEquals(400, post("/divide?groupSize=x", "text/csv", CSV).statusCode());
+        assertEquals(400, post("/divide?groupSize=4&deviation=0", "text/csv", CSV).statusCode());
+        assertEquals(400, post("/divide?groupSize=2", "application/json", "[{}]").statusCode());
+        assertEquals(400, post("/divide?groupSize=2", "application/json", "[").statusCode());
+        assertEquals(415, post("/divide?groupSize=2", "text/plain", CSV).statusCode());
+        assertEquals(404, post("/divide/more?groupSize=2", "text/csv", CSV).statusCode());
+
+        // Neither a quote that is not closed nor deep nesting breaks the server
+        assertEquals(400, post("/divide?groupSize=2", "text/csv",
+                "first name,last name,ID\n\"Jan,de Beer,1").statusCode());
+        assertEquals(400, post("/divide?groupSize=2", "application/json",
+                "[".repeat(100_000)).statusCode());
+        assertEquals(413, post("/divide?groupSize=2", "text/csv",
+                CSV + " ".repeat(DividerServer.MAX_BODY_SIZE)).statusCode());
+
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(
+                "http://localhost:%d/divide".formatted(server.port()))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, response.statusCode());
+        assertTrue(((Map<?, ?>) Json.parse(response.body())).containsKey("error"));
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Division class.
+ */
+public class DivisionTest {
+
+    private static Student student(int i) {
+        return new Student("First" + i, "Last" + i, String.valueOf(i));
+    }
+
+    private static List<Student> students(int from, int to) {
+        List<Student> students = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            students.add(student(i));
+        }
+        return students;
+    }
+
+    /**
+     * Groups of {@code size} consecutive students, numbered from 0.
+     */
+    private static List<Group<Student>> groups(int count, int size) {
+        List<Group<Student>> groups = new ArrayList<>();
+        for (int g = 0; g < count; g++) {
+            Group<Student> group = new Group<>();
+            group.addAll(students(g * size, (g + 1) * size));
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private static Map<Student, Group<Student>> groupOf(List<Group<Student>> groups) {
+        Map<Student, Group<Student>> groupOf = new HashMap<>();
+        for (Group<Student> group : groups) {
+            for (Student student : group) {
+                assertNull(groupOf.put(student, group));
+            }
+        }
+        return groupOf;
+    }
+
+    private static void assertSizes(Division division, int groupSize, int deviation) {
+        for (Group<Student> group : division.groups()) {
+            assertTrue(Math.abs(group.size() - groupSize) <= deviation, group::toString);
+        }
+    }
+
+    /**
+     * Test of update method, of class Division, when students leave.
+     */
+    @Test
+    public void testUpdate_Leave() {
+        List<Group<Student>> groups = groups(3, 4);
+        Division division = new Division(groups, 4, 1);
+
+        // A group of 3 is still within the deviation
+        assertEquals(0, division.update(List.of(), List.of(student(0))));
+        assertEquals(3, groups.get(0).size());
+
+        // A group of 2 is not: one student moves to it
+        assertEquals(1, division.update(List.of(), List.of(student(1), student(42))));
+        assertEquals(10, division.size());
+        assertEquals(3, division.groups().size());
+        assertSizes(division, 4, 1);
+    }
+
+    /**
+     * Test of update method, of class Division, when students join.
+     */
+    @Test
+    public void testUpdate_Join() {
+        List<Group<Student>> groups = groups(3, 4);
+        Map<Student, Group<Student>> before = groupOf(groups);
+        Division division = new Division(groups, 4, 1);
+
+        // Joining students go to the smallest groups, without moving anyone
+        assertEquals(0, division.update(students(10, 20), List.of()));
+        assertEquals(20, division.size());
+        assertEquals(4, division.groups().size());
+        assertSizes(division, 4, 1);
+        Map<Student, Group<Student>> after = groupOf(division.groups());
+        for (Student student : before.keySet()) {
+            assertSame(before.get(student), after.get(student));
+        }
+    }
+
+    /**
+     * Test of update method, of class Division, when groups must be dissolved.
+     */
+    @Test
+    public void testUpdate_Dissolve() {
+        Division division = new Division(groups(4, 3), 3, 0);
+
+        // Groups of 2, 2, 2, and 3: one group of 2 is dissolved
+        assertEquals(2, division.update(List.of(),
+                List.of(student(0), student(3), student(6))));
+        assertEquals(3, division.groups().size());
+        assertSizes(division, 3, 0);
+        Set<Student> remaining = new HashSet<>(students(0, 12));
+        remaining.removeAll(List.of(student(0), student(3), student(6)));
+        assertEquals(remaining, groupOf(division.groups()).keySet());
+    }
+
+    /**
+     * Test of update method, of class Division, when a group empties while
+     * the deviation allows empty groups.
+     */
+    @Test
+    public void testUpdate_NoEmptyGroup() {
+        Group<Student> ab = new Group<>();
+        ab.addAll(students(0, 2));
+        Group<Student> c = new Group<>();
+        c.add(student(2));
+        Division division = new Division(List.of(ab, c), 2, 2);
+
+        assertEquals(1, division.update(List.of(), List.of(student(2))));
+        assertEquals(2, division.groups().size());
+        for (Group<Student> group : division.groups()) {
+            assertEquals(1, group.size(), group::toString);
+        }
+    }
+
+    /**
+     * Test of update method, of class Division, when the class cannot be divided.
+     */
+    @Test
+    public void testUpdate_Invalid() {
+        List<Group<Student>> groups = groups(3, 4);
+        Division division = new Division(groups, 4, 0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> division.update(List.of(), List.of(student(0))));
+        assertEquals(12, division.size());
+        assertEquals(4, groups.get(0).size());
+
+        Group<Student> duplicate = new Group<>();
+        duplicate.add(student(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Division(List.of(groups.get(0), duplicate), 4, 1));
+    }
+
+    /**
+     * Test of update method, of class Division, with many random updates.
+     */
+    @Test
+    public void testUpdate_Random() {
+        Random random = new Random(1);
+        Division division = new Division(groups(2_000, 5), 5, 1);
+        Set<Student> klas = new HashSet<>(students(0, 10_000));
+        int next = 10_000;
+
+        for (int update = 0; update < 1_000; update++) {
+            List<Student> added = students(next, next + random.nextInt(10));
+            next += added.size();
+            List<Student> removed = new ArrayList<>();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                removed.add(student(random.nextInt(next)));
+            }
+
+            int moves = division.update(added, removed);
+
+            klas.addAll(added);
+            klas.removeAll(removed);
+            assertTrue(moves <= added.size() + removed.size());
+        }
+        assertSizes(division, 5, 1);
+        assertEquals(klas, groupOf(division.groups()).keySet());
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test GroupCountRange.
+ */
+public class GroupCountRangeTest {
+
+    /*
+     * Brute force: the smallest and largest k in [1, classSize] such that
+     * k * (groupSize - deviation) <= classSize <= k * (groupSize + deviation).
+     */
+    private int[] bruteForce(int classSize, int groupSize, int deviation) {
+        int min = 1;
+        int max = 0;
+        boolean found = false;
+        for (int k = 1; k <= classSize; k++) {
+            long minTotal = (long) k * (groupSize - deviation);
+            long maxTotal = (long) k * (groupSize + deviation);
+            if (minTotal <= classSize && classSize <= maxTotal) {
+                min = found ? min : k;
+                max = k;
+                found = true;
+            }
+        }
+        return new int[] {min, max};
+    }
+
+    private void check(int classSize, int groupSize, int deviation) {
+        int[] expected = bruteForce(classSize, groupSize, deviation);
+        GroupCountRange actual = GroupCountRange.of(classSize, groupSize, deviation);
+        String message = "%d into %d+/-%d".formatted(classSize, groupSize, deviation);
+
+        assertEquals(expected[0] > expected[1], actual.isEmpty(), message);
+        if (!actual.isEmpty()) {
+            assertEquals(expected[0], actual.min(), message);
+            assertEquals(expected[1], actual.max(), message);
+        }
+    }
+
+    @Test
+    void of_smallClassesExhaustive() {
+        for (int classSize = 0; classSize <= 100; classSize++) {
+            for (int groupSize = 1; groupSize <= 12; groupSize++) {
+                for (int deviation = 0; deviation <= 13; deviation++) {
+                    check(classSize, groupSize, deviation);
+                }
+            }
+        }
+    }
+
+    @Test
+    void of_randomLargeClasses() {
+        Random random = new Random(20240501);
+        for (int i = 0; i < 200; i++) {
+            int classSize = random.nextInt(1, 1_000_001);
+            int groupSize = random.nextInt(1, 2_000);
+            int deviation = random.nextInt(0, groupSize + 1);
+            check(classSize, groupSize, deviation);
+        }
+    }
+
+    @Test
+    void of_invalidInput() {
+        assertTrue(GroupCountRange.of(0, 4, 1).isEmpty());
+        assertTrue(GroupCountRange.of(10, 0, 1).isEmpty());
+        assertTrue(GroupCountRange.of(10, 4, -1).isEmpty());
+    }
+
+    @Test
+    void contains() {
+        GroupCountRange range = GroupCountRange.of(10, 3, 1);
+        assertEquals(new GroupCountRange(3, 5), range);
+        assertFalse(range.contains(2));
+        assertTrue(range.contains(3));
+        assertTrue(range.contains(5));
+        assertFalse(range.contains(6));
+        assertFalse(GroupCountRange.EMPTY.contains(1));
+    }
+}
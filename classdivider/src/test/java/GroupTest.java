@@ -3,6 +3,9 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -58,14 +61,13 @@ public class GroupTest {
         assertEquals(0, group.pick());
 
         // Fix randomness; All three of the three members are picked
-        Group.setRandomSeed(1);
-        group.add(1);
-        group.add(2);
-        assertEquals(0, group.pick());
-        assertEquals(1, group.pick());
-        assertEquals(1, group.pick());
-        assertEquals(0, group.pick());
-        assertEquals(2, group.pick());
+        Group<Integer> seeded = new Group<>(new Random(1));
+        seeded.addAll(List.of(0, 1, 2));
+        assertEquals(0, seeded.pick());
+        assertEquals(1, seeded.pick());
+        assertEquals(1, seeded.pick());
+        assertEquals(0, seeded.pick());
+        assertEquals(2, seeded.pick());
     }
 
     /**
@@ -123,28 +125,87 @@ public class GroupTest {
         group.add(2);
 
         // Different random seed gives a different sequence of members
-        Group.setRandomSeed(3);
         List<Integer> vals1 = new ArrayList<>();
-        group.iterator().forEachRemaining(vals1::add);
+        group.iterator(new Random(3)).forEachRemaining(vals1::add);
 
-        Group.setRandomSeed(2235);
         List<Integer> vals2 = new ArrayList<>();
-        group.iterator().forEachRemaining(vals2::add);
+        group.iterator(new Random(2235)).forEachRemaining(vals2::add);
 
         assertNotEquals(vals1, vals2);
 
         // Same random seed gives same sequence of members
-        Group.setRandomSeed(5);
         vals1 = new ArrayList<>();
-        group.iterator().forEachRemaining(vals1::add);
+        group.iterator(new Random(5)).forEachRemaining(vals1::add);
 
-        Group.setRandomSeed(5);
         vals2 = new ArrayList<>();
-        group.iterator().forEachRemaining(vals2::add);
+        group.iterator(new Random(5)).forEachRemaining(vals2::add);
+
+        assertEquals(vals1, vals2);
+    }
+
+    /**
+     * Test of iterator method, of class Group, visiting every member once.
+     */
+    @Test
+    public void testIteratorVisitsAllMembers() {
+        Group<Integer> group = new Group<>();
+        for (int i = 0; i < 1000; i++) {
+            group.add(i);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        Iterator<Integer> iter = group.iterator();
+        iter.forEachRemaining(visited::add);
+
+        assertEquals(group.size(), visited.size());
+        assertTrue(visited.containsAll(group));
+        assertThrows(NoSuchElementException.class, iter::next);
+    }
+
+    /**
+     * Test of iterator method, of class Group, with a group's own or a given
+     * random number generator.
+     */
+    @Test
+    public void testIteratorGenerator() {
+        Group<Integer> first = new Group<>(new SplittableRandom(7));
+        Group<Integer> second = new Group<>(new SplittableRandom(7));
+        for (int i = 0; i < 100; i++) {
+            first.add(i);
+            second.add(i);
+        }
+
+        // Same seed gives same sequence of members, whatever the default generator does
+        List<Integer> vals1 = new ArrayList<>();
+        first.iterator().forEachRemaining(vals1::add);
+        Group.random().nextLong();
+        List<Integer> vals2 = new ArrayList<>();
+        second.iterator().forEachRemaining(vals2::add);
+        assertEquals(vals1, vals2);
+        assertEquals(first.pick(), second.pick());
 
+        vals1.clear();
+        first.iterator(new SplittableRandom(3)).forEachRemaining(vals1::add);
+        vals2.clear();
+        second.iterator(new SplittableRandom(3)).forEachRemaining(vals2::add);
         assertEquals(vals1, vals2);
     }
 
+    /**
+     * Test of inOrder method, of class Group.
+     */
+    @Test
+    public void testInOrder() {
+        Group<Integer> group = new Group<>();
+        group.addAll(List.of(3, 1, 2));
+        assertEquals(List.of(3, 1, 2), new ArrayList<>(group.inOrder()));
+
+        group.remove(1);
+        group.add(0);
+        assertEquals(List.of(3, 2, 0), new ArrayList<>(group.inOrder()));
+        assertThrows(UnsupportedOperationException.class, () -> group.inOrder().clear());
+    }
+
     /**
      * Test of addAll method, of class Group.
      */
@@ -219,6 +280,27 @@ public class GroupTest {
         );
     }
 
+    /**
+     * Test of remove method, of class Group, when removing from the middle.
+     */
+    @Test
+    public void testRemoveMiddle() {
+        Group<Integer> group = new Group<>();
+        group.addAll(List.of(0, 1, 2, 3));
+        assertTrue(group.remove(1));
+        assertAll(
+                () -> assertEquals(3, group.size()),
+                () -> assertFalse(group.contains(1)),
+                () -> assertTrue(group.containsAll(List.of(0, 2, 3))),
+                () -> assertEquals("0; 2; 3", group.toString())
+        );
+
+        // Only remaining members can be picked
+        for (int i = 0; i < 20; i++) {
+            assertNotEquals(1, group.pick());
+        }
+    }
+
     /**
      * Test of removeAll method, of class Group.
      */
@@ -0,0 +1,90 @@
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test GroupsWriter class.
+ */
+public class GroupsWriterTest {
+
+    private static final Student ZOE = new Student("Zoë", "de \"Z\" Vries", "1,2");
+    private static final Student JAN_B = new Student("Jan", "Bakker", "3");
+    private static final Student JAN_V = new Student("Jan", "Visser", "4\n5");
+
+    private static Group<Student> group(Student student) {
+        Group<Student> group = new Group<>();
+        group.add(student);
+        return group;
+    }
+
+    /**
+     * Write the groups with a buffer of 8 bytes, so that it is flushed many times.
+     */
+    private static String write(GroupsWriter.Format format) throws Exception {
+        List<Group<Student>> groups = List.of(group(ZOE), group(JAN_B), group(JAN_V));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GroupsWriter writer = new GroupsWriter(Channels.newChannel(out), 8);
+        writer.write(groups, DisplayNames.of(List.of(ZOE, JAN_B, JAN_V)), format);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test of write method, of class GroupsWriter, as text.
+     */
+    @Test
+    public void testWrite_Text() throws Exception {
+        String n = System.lineSeparator();
+        assertEquals("Group 1:" + n + "- Zoë" + n + n
+                + "Group 2:" + n + "- Jan B" + n + n
+                + "Group 3:" + n + "- Jan V" + n + n,
+                write(GroupsWriter.Format.TEXT));
+    }
+
+    /**
+     * Test of write method, of class GroupsWriter, as CSV.
+     */
+    @Test
+    public void testWrite_CSV() throws Exception {
+        List<CSVRecord> records = CSVFormat.DEFAULT.parse(
+                new StringReader(write(GroupsWriter.Format.CSV))).getRecords();
+
+        assertEquals(4, records.size());
+        assertEquals(List.of("group", "name", "first name", "last name", "ID"),
+                records.get(0).toList());
+        assertEquals(List.of("1", "Zoë", "Zoë", "de \"Z\" Vries", "1,2"),
+                records.get(1).toList());
+        assertEquals(List.of("3", "Jan V", "Jan", "Visser", "4\n5"), records.get(3).toList());
+    }
+
+    /**
+     * Test of write method, of class GroupsWriter, as JSON Lines.
+     */
+    @Test
+    public void testWrite_JsonLines() throws Exception {
+        List<String> lines = write(GroupsWriter.Format.JSONL).lines().toList();
+
+        assertEquals(3, lines.size());
+        assertEquals(Map.of("group", BigDecimal.ONE, "name", "Zoë", "firstName", "Zoë",
+                "lastName", "de \"Z\" Vries", "id", "1,2"), Json.parse(lines.get(0)));
+        assertEquals("4\n5", ((Map<?, ?>) Json.parse(lines.get(2))).get("id"));
+    }
+
+    /**
+     * Test of of method, of enum GroupsWriter.Format.
+     */
+    @Test
+    public void testFormatOf() {
+        assertEquals(GroupsWriter.Format.JSONL, GroupsWriter.Format.of("jsonl"));
+        assertEquals(GroupsWriter.Format.CSV, GroupsWriter.Format.of("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> GroupsWriter.Format.of("xml"));
+    }
+}
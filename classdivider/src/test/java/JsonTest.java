@@ -0,0 +1,71 @@
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Json class.
+ */
+public class JsonTest {
+
+    /**
+     * Test of parse method, of class Json.
+     */
+    @Test
+    public void testParse() {
+        assertEquals(List.of(), Json.parse(" [ ] "));
+        assertEquals(Map.of(), Json.parse("{}"));
+        assertEquals(new BigDecimal("-1.5e3"), Json.parse("-1.5e3"));
+        assertEquals(Arrays.asList(true, false, null), Json.parse("[true,false,null]"));
+        assertEquals("a\"\\/\b\f\n\r\té", Json.parse("\"a\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\""));
+
+        Object value = Json.parse("{\"b\": [1, {\"c\": \"d\"}], \"a\": \"x\"}");
+        assertEquals(Map.of("b", List.of(BigDecimal.ONE, Map.of("c", "d")), "a", "x"), value);
+        // Keys are kept in document order
+        assertEquals(List.of("b", "a"), List.copyOf(((Map<?, ?>) value).keySet()));
+    }
+
+    /**
+     * Test of parse method, of class Json, with invalid JSON.
+     */
+    @Test
+    public void testParse_Invalid() {
+        for (String json : List.of("", "[", "[1,]", "{\"a\" 1}", "{a: 1}", "\"abc", "tru",
+                "1 2", "\"\\x\"", "\"\n\"")) {
+            assertThrows(IllegalArgumentException.class, () -> Json.parse(json), json);
+        }
+    }
+
+    /**
+     * Test of parse method, of class Json, with deeply nested arrays.
+     */
+    @Test
+    public void testParse_Nested() {
+        int depth = Json.MAX_DEPTH;
+        assertInstanceOf(List.class, Json.parse("[".repeat(depth) + "]".repeat(depth)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Json.parse("[".repeat(depth + 1) + "]".repeat(depth + 1)));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[{\"a\":".repeat(100_000)));
+    }
+
+    /**
+     * Test of write method, of class Json.
+     */
+    @Test
+    public void testWrite() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("name", "Zoë \"Z\"\n");
+        object.put("groups", List.of(List.of(1, 2), List.of()));
+        object.put("ok", true);
+        object.put("none", null);
+        String json = Json.write(object);
+        assertEquals("{\"name\":\"Zoë \\\"Z\\\"\\n\",\"groups\":[[1,2],[]],\"ok\":true,"
+                + "\"none\":null}", json);
+
+        // What is written can be read back
+        assertEquals("Zoë \"Z\"\n\u0001", Json.parse(Json.write("Zoë \"Z\"\n\u0001")));
+    }
+}
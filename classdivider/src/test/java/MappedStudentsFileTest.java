@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test MappedStudentsFile.
+ */
+public class MappedStudentsFileTest {
+
+    private static final String HEADER = "first name,last name,ID";
+
+    @TempDir
+    Path tempDir;
+
+    private MappedStudentsFile open(String csv) throws Exception {
+        Path file = tempDir.resolve("students.csv");
+        Files.write(file, csv.getBytes(StandardCharsets.UTF_8));
+        return MappedStudentsFile.open(file);
+    }
+
+    @Test
+    void open_empty() throws Exception {
+        assertEquals(0, open("").size());
+        assertEquals(0, open(HEADER + "\n").size());
+    }
+
+    @Test
+    void open_fields() throws Exception {
+        MappedStudentsFile students = open(HEADER + "\r\nHuub,de Beer,232112\r\nJan,Jansens,1\n");
+        assertEquals(2, students.size());
+        assertEquals("Huub", students.firstName(0));
+        assertEquals("de Beer", students.lastName(0));
+        assertEquals("232112", students.id(0));
+        assertEquals(new Student("Jan", "Jansens", "1"), students.student(1));
+        assertEquals("Jansens", students.student(1).lastName());
+        assertThrows(IndexOutOfBoundsException.class, () -> students.id(2));
+    }
+
+    @Test
+    void open_quotedFields() throws Exception {
+        MappedStudentsFile students = open(HEADER + "\n"
+                + "\"Anna, Maria\",\"van \"\"de\"\" Berg\",\"1\"\n"
+                + "\"Multi\nline\",\"\",2\n");
+        assertEquals(2, students.size());
+        assertEquals("Anna, Maria", students.firstName(0));
+        assertEquals("van \"de\" Berg", students.lastName(0));
+        assertEquals("1", students.id(0));
+        assertEquals("Multi\nline", students.firstName(1));
+        assertEquals("", students.lastName(1));
+    }
+
+    @Test
+    void open_emptyLinesAndExtraFields() throws Exception {
+        MappedStudentsFile students = open(HEADER + "\n\nÉmile,Zola,1,extra\n\n");
+        assertEquals(1, students.size());
+        assertEquals(new Student("Émile", "Zola", "1"), students.student(0));
+        assertEquals("Émile", students.firstName(0));
+    }
+
+    @Test
+    void open_invalidData() {
+        assertThrows(IOException.class,
+                () -> open(HEADER + "\nThis is an invalid row"));
+        assertThrows(IOException.class,
+                () -> open(HEADER + "\n\"Not closed,x,1\n"));
+        assertThrows(IOException.class,
+                () -> open(HEADER + "\n\"Quoted\"trailing,x,1\n"));
+        // The parallel scan reports the same error
+        Path file = tempDir.resolve("students.csv");
+        assertThrows(IOException.class, () -> MappedStudentsFile.openParallel(file));
+    }
+
+    @Test
+    void scanParallel_sameAsScan() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER + "\r\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append(i % 7 == 0
+                    ? "\"Multi\nline, \"\"%d\"\"\",Last,%d\r\n".formatted(i, i)
+                    : "First%d,Last,%d\r\n".formatted(i, i));
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        MappedStudentsFile expected = new MappedStudentsFile(
+                bytes, MappedStudentsFile.scan(bytes, 0, bytes.limit()));
+        for (int chunks : new int[] {1, 2, 7, 64, 997}) {
+            MappedStudentsFile actual = new MappedStudentsFile(
+                    bytes, MappedStudentsFile.scanParallel(bytes, 0, bytes.limit(), chunks));
+            assertEquals(expected.size(), actual.size(), "chunks " + chunks);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.firstName(i), actual.firstName(i), "chunks " + chunks);
+                assertEquals(expected.id(i), actual.id(i), "chunks " + chunks);
+            }
+        }
+        assertEquals("Multi\nline, \"7\"", expected.firstName(7));
+    }
+
+    @Test
+    void scanParallel_bareQuote() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER + "\n");
+        csv.append("Jan,O\"Brien,0\n");
+        for (int i = 1; i < 20_000; i++) {
+            csv.append(i % 11 == 0
+                    ? "\"Multi\nline\",Last,%d\n".formatted(i)
+                    : "First%d,Last,%d\n".formatted(i, i));
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        MappedStudentsFile expected = new MappedStudentsFile(
+                bytes, MappedStudentsFile.scan(bytes, 0, bytes.limit()));
+        assertEquals(20_000, expected.size());
+        assertEquals("O\"Brien", expected.lastName(0));
+        for (int chunks : new int[] {2, 7, 64}) {
+            MappedStudentsFile actual = new MappedStudentsFile(
+                    bytes, MappedStudentsFile.scanParallel(bytes, 0, bytes.limit(), chunks));
+            assertEquals(expected.size(), actual.size(), "chunks " + chunks);
+            assertEquals(expected.toGroup(), actual.toGroup(), "chunks " + chunks);
+        }
+
+        Path file = tempDir.resolve("students.csv");
+        Files.write(file, bytes.array());
+        assertEquals(StudentsFile.fromCSV(file).toString(),
+                StudentsFile.fromCSVParallel(file).toString());
+    }
+
+    @Test
+    void toGroupParallel_firstOccurrenceWins() throws Exception {
+        MappedStudentsFile students = open(HEADER + "\nA,First,1\nB,Second,2\nC,Duplicate,1\n");
+        Group<Student> group = students.toGroupParallel();
+        assertEquals(2, group.size());
+        assertEquals(new Student("A", "First", "1").toString(), group.toString().split("; ")[0]);
+    }
+
+    @Test
+    void toGroup_sameAsCommonsCSV() throws Exception {
+        // The shipped students.lst starts with a UTF-8 byte order mark
+        Path file = Path.of("students.lst");
+        Group<Student> expected = StudentsFile.fromCSV(file);
+        Group<Student> actual = StudentsFile.fromMappedCSV(file);
+
+        assertEquals(expected, actual);
+        assertEquals(expected.toString(), actual.toString());
+
+        Group<Student> parallel = StudentsFile.fromCSVParallel(file);
+        assertEquals(expected.toString(), parallel.toString());
+    }
+}
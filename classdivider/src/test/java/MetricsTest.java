@@ -0,0 +1,66 @@
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Metrics class.
+ */
+public class MetricsTest {
+
+    private static Group<Student> group(int size) {
+        Group<Student> group = new Group<>();
+        for (int i = 0; i < size; i++) {
+            group.add(new Student("First" + i, "Last" + i, size + "-" + i));
+        }
+        return group;
+    }
+
+    /**
+     * Test of time methods, of class Metrics.
+     */
+    @Test
+    public void testTime() {
+        Metrics metrics = new Metrics(true);
+
+        assertEquals(1_000, metrics.time("allocate", () -> new long[1_000]).length);
+        metrics.time("nothing", () -> { });
+        assertThrows(IllegalStateException.class, () -> metrics.time("fail", () -> {
+            throw new IllegalStateException();
+        }));
+
+        List<Metrics.Span> spans = metrics.spans();
+        assertEquals(List.of("allocate", "nothing", "fail"),
+                spans.stream().map(Metrics.Span::stage).toList());
+        assertTrue(spans.stream().allMatch(span -> span.nanos() >= 0));
+        // Allocations are counted on HotSpot, where the tests run
+        assertTrue(spans.get(0).allocated() >= 8 * 1_000);
+
+        Metrics timeOnly = new Metrics(false);
+        timeOnly.time("allocate", () -> new long[1_000]);
+        assertEquals(-1, timeOnly.spans().get(0).allocated());
+    }
+
+    /**
+     * Test of histogram and report methods, of class Metrics.
+     */
+    @Test
+    public void testReport() {
+        List<Group<Student>> groups = List.of(group(4), group(3), group(4));
+        assertEquals(Map.of(3, 1, 4, 2), Metrics.histogram(groups));
+
+        Metrics metrics = new Metrics(true);
+        metrics.time("divide", () -> groups);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        metrics.report(groups, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+        List<String> lines = bytes.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("divide "));
+        assertTrue(lines.get(2).startsWith("total "));
+        assertEquals("Group sizes: 1 x 3, 2 x 4", lines.get(3));
+    }
+}
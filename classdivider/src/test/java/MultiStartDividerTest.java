@@ -0,0 +1,102 @@
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test MultiStartDivider class and Objective interface.
+ */
+public class MultiStartDividerTest {
+
+    private static final Duration NO_LIMIT = Duration.ofMinutes(1);
+
+    /**
+     * A class of {@code size} students with {@code names} different first names.
+     */
+    private static Group<Student> klas(int size, int names) {
+        Group<Student> klas = new Group<>();
+        for (int i = 0; i < size; i++) {
+            klas.add(new Student("First" + i % names, "Last" + i, String.valueOf(i)));
+        }
+        return klas;
+    }
+
+    private static Group<Student> group(Group<Student> klas, int... ids) {
+        Group<Student> group = new Group<>();
+        for (int id : ids) {
+            klas.inOrder().stream()
+                    .filter(student -> student.id().equals(String.valueOf(id)))
+                    .forEach(group::add);
+        }
+        return group;
+    }
+
+    /**
+     * Test of the objectives of interface Objective.
+     */
+    @Test
+    public void testObjectives() {
+        Group<Student> klas = klas(7, 2);
+        // First0 three times and First1 once, and First1 and First0 once each
+        List<Group<Student>> groups = List.of(group(klas, 0, 2, 4, 1), group(klas, 3, 6));
+
+        assertEquals(3.0, Objective.firstNameCollisions().score(groups));
+        assertEquals(1.0, Objective.sizeVariance().score(groups));
+        assertEquals(4.0, Objective.firstNameCollisions()
+                .plus(Objective.sizeVariance()).score(groups));
+        assertEquals(0.0, Objective.sizeVariance().score(List.of()));
+    }
+
+    /**
+     * Test of divide method, of class MultiStartDivider, with the same seed.
+     */
+    @Test
+    public void testDivide_Seed() {
+        Group<Student> klas = klas(60, 15);
+        Objective objective = Objective.firstNameCollisions();
+
+        MultiStartDivider.Result first = new MultiStartDivider(objective, 100, NO_LIMIT, -1, 7)
+                .divide(klas, 4, 1);
+        MultiStartDivider.Result second = new MultiStartDivider(objective, 100, NO_LIMIT, -1, 7)
+                .divide(klas, 4, 1);
+
+        assertEquals(100, first.starts());
+        assertEquals(first.start(), second.start());
+        assertEquals(first.score(), second.score());
+        assertEquals(first.groups(), second.groups());
+        assertEquals(objective.score(first.groups()), first.score());
+        assertEquals(60, first.groups().stream().mapToInt(Group::size).sum());
+    }
+
+    /**
+     * Test of divide method, of class MultiStartDivider, when it stops early.
+     */
+    @Test
+    public void testDivide_Early() {
+        Group<Student> klas = klas(60, 15);
+
+        // Every division reaches the target: the first start wins
+        MultiStartDivider.Result result = new MultiStartDivider(
+                Objective.firstNameCollisions(), 1_000, NO_LIMIT, 1_000, 7).divide(klas, 4, 1);
+        assertEquals(0, result.start());
+
+        // Out of time: only the first start is certain to run
+        result = new MultiStartDivider(Objective.sizeVariance(), 1_000, Duration.ZERO, -1, 7)
+                .divide(klas, 4, 1);
+        assertTrue(result.starts() >= 1);
+        assertEquals(15, result.groups().size());
+    }
+
+    /**
+     * Test of divide method, of class MultiStartDivider, with invalid input.
+     */
+    @Test
+    public void testDivide_Invalid() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MultiStartDivider(Objective.sizeVariance(), 0, NO_LIMIT, 0, 7));
+
+        MultiStartDivider.Result result = new MultiStartDivider(
+                Objective.sizeVariance(), 10, NO_LIMIT, 0, 7).divide(klas(7, 7), 5, 1);
+        assertEquals(List.of(), result.groups());
+    }
+}
@@ -0,0 +1,108 @@
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test that the native image built with profile {@code native} divides a
+ * class the same way as the JVM build. Skipped when there is no native image;
+ * its path can be set with system property {@code classdivider.native}.
+ */
+public class NativeImageTest {
+
+    private static final Path STUDENTS = Path.of("students.lst");
+
+    @TempDir
+    Path tempDir;
+
+    private Path binary;
+
+    /**
+     * Find the native image, or skip the test.
+     */
+    @BeforeEach
+    public void findBinary() {
+        binary = Path.of(System.getProperty("classdivider.native", "target/classdivider"));
+        Assumptions.assumeTrue(Files.isExecutable(binary), "No native image at " + binary);
+    }
+
+    private int runNative(String... args) throws Exception {
+        List<String> command = new ArrayList<>(List.of(binary.toString()));
+        command.addAll(List.of(args));
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start()
+                .waitFor();
+    }
+
+    private static int runJvm(String... args) {
+        return new CommandLine(new ClassDividerCLI())
+                .setErr(new PrintWriter(Writer.nullWriter()))
+                .execute(args);
+    }
+
+    /**
+     * Test that the native image writes the same groups, in every format.
+     */
+    @Test
+    public void testSameGroups() throws Exception {
+        for (String format : List.of("text", "csv", "jsonl")) {
+            Path fromNative = tempDir.resolve("native." + format);
+            Path fromJvm = tempDir.resolve("jvm." + format);
+
+            assertEquals(0, runNative("-g", "4", "--seed", "2024", "--format", format,
+                    "--output", fromNative.toString(), STUDENTS.toString()));
+            assertEquals(0, runJvm("-g", "4", "--seed", "2024", "--format", format,
+                    "--output", fromJvm.toString(), STUDENTS.toString()));
+            assertEquals(Files.readString(fromJvm), Files.readString(fromNative), format);
+        }
+    }
+
+    /**
+     * Test that the native image reports metrics, also while recording with
+     * Java Flight Recorder.
+     */
+    @Test
+    public void testMetrics() throws Exception {
+        Path recording = tempDir.resolve("divide.jfr");
+        for (List<String> options : List.<List<String>>of(List.of(),
+                List.of("-XX:StartFlightRecording=filename=" + recording))) {
+            Path report = tempDir.resolve("metrics.txt");
+            List<String> command = new ArrayList<>(List.of(binary.toString()));
+            command.addAll(options);
+            command.addAll(List.of("-g", "4", "--metrics", STUDENTS.toString()));
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(report.toFile())
+                    .start();
+
+            assertEquals(0, process.waitFor(), options::toString);
+            List<String> lines = Files.readAllLines(report);
+            assertTrue(lines.stream().anyMatch(line -> line.startsWith("total ")),
+                    options::toString);
+            assertTrue(lines.get(lines.size() - 1).startsWith("Group sizes: "),
+                    options::toString);
+        }
+        assertTrue(Files.size(recording) > 0);
+    }
+
+    /**
+     * Test that the native image rejects invalid input like the JVM build.
+     */
+    @Test
+    public void testInvalidInput() throws Exception {
+        assertEquals(runJvm("-g", "0", STUDENTS.toString()),
+                runNative("-g", "0", STUDENTS.toString()));
+        assertEquals(runJvm("-g", "4", "--format", "xml", STUDENTS.toString()),
+                runNative("-g", "4", "--format", "xml", STUDENTS.toString()));
+    }
+}
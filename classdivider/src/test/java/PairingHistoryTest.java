@@ -0,0 +1,134 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test PairingHistory.
+ */
+public class PairingHistoryTest {
+
+    private static final Student ANNA = new Student("Anna", "Smit", "1");
+    private static final Student BRAM = new Student("Bram", "Visser", "2");
+    private static final Student CHEN = new Student("Chen", "Li", "3");
+    private static final Student DAAN = new Student("Daan", "Bakker", "4");
+
+    @TempDir
+    Path tempDir;
+
+    private static Group<Student> group(Student... students) {
+        Group<Student> group = new Group<>();
+        group.addAll(List.of(students));
+        return group;
+    }
+
+    @Test
+    void recordAndCount() {
+        PairingHistory history = new PairingHistory();
+        assertEquals(0, history.count(ANNA, BRAM));
+
+        history.record(List.of(group(ANNA, BRAM, CHEN), group(DAAN)));
+        history.record(List.of(group(ANNA, BRAM), group(CHEN, DAAN)));
+
+        assertEquals(2, history.count(ANNA, BRAM));
+        assertEquals(2, history.count(BRAM, ANNA));
+        assertEquals(1, history.count(ANNA, CHEN));
+        assertEquals(0, history.count(ANNA, DAAN));
+        assertEquals(0, history.count(ANNA, ANNA));
+        assertEquals(2 + 1 + 1, history.repeats(List.of(group(ANNA, BRAM, CHEN))));
+        assertEquals(0, history.repeats(List.of(group(ANNA, DAAN))));
+    }
+
+    @Test
+    void minimizerCost_sameAsRepeats() {
+        PairingHistory history = new PairingHistory();
+        history.record(List.of(group(ANNA, BRAM), group(CHEN, DAAN)));
+        history.record(List.of(group(ANNA, BRAM, CHEN), group(DAAN)));
+        List<Student> students = List.of(ANNA, BRAM, CHEN, DAAN);
+        int[] numbers = students.stream().mapToInt(history::indexOf).toArray();
+
+        // Bram and Daan have never been together, nor have Anna and Daan
+        for (int[] groupOf : new int[][] {{1, 0, 2, 0}, {1, 0, 0, 2}, {0, 0, 0, 1}, {0, 1, 1, 0}}) {
+            int groupCount = Arrays.stream(groupOf).max().getAsInt() + 1;
+            List<Group<Student>> groups = new ArrayList<>();
+            for (int g = 0; g < groupCount; g++) {
+                groups.add(new Group<>());
+            }
+            for (int i = 0; i < groupOf.length; i++) {
+                groups.get(groupOf[i]).add(students.get(i));
+            }
+            RepeatMinimizer minimizer = new RepeatMinimizer(history, numbers, groupOf,
+                    groupCount, new SplittableRandom(1));
+            assertEquals(history.repeats(groups), minimizer.cost(), Arrays.toString(groupOf));
+        }
+    }
+
+    @Test
+    void writeAndRead() throws Exception {
+        Path file = PairingHistory.pathFor(tempDir.resolve("students.lst"));
+        assertEquals(tempDir.resolve("students.lst.history"), file);
+        assertEquals(0, PairingHistory.read(file).count(ANNA, BRAM));
+
+        PairingHistory history = new PairingHistory();
+        history.record(List.of(group(ANNA, BRAM), group(CHEN, DAAN)));
+        history.write(file);
+
+        // Students may join between divisions
+        PairingHistory read = PairingHistory.read(file);
+        Student emma = new Student("Emma", "de Vries", "5");
+        read.record(List.of(group(ANNA, BRAM, emma)));
+        read.write(file);
+
+        read = PairingHistory.read(file);
+        assertEquals(2, read.count(ANNA, BRAM));
+        assertEquals(1, read.count(CHEN, DAAN));
+        assertEquals(1, read.count(emma, ANNA));
+        assertEquals(0, read.count(emma, CHEN));
+    }
+
+    @Test
+    void record_concurrent() throws Exception {
+        Path students = tempDir.resolve("students.lst");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> recorders = Collections.nCopies(8, () -> {
+                PairingHistory.record(students, List.of(group(ANNA, BRAM)));
+                return null;
+            });
+            for (Future<Void> recorded : pool.invokeAll(recorders)) {
+                recorded.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // No recorder overwrote another's division
+        assertEquals(8, PairingHistory.read(PairingHistory.pathFor(students)).count(ANNA, BRAM));
+    }
+
+    @Test
+    void read_corrupt() throws Exception {
+        Path file = tempDir.resolve("students.lst.history");
+        Files.writeString(file, "first name,last name,ID");
+        assertThrows(IOException.class, () -> PairingHistory.read(file));
+
+        PairingHistory history = new PairingHistory();
+        history.record(List.of(group(ANNA, BRAM)));
+        history.write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> PairingHistory.read(file));
+    }
+}
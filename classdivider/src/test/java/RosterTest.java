@@ -0,0 +1,84 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test Roster class.
+ */
+public class RosterTest {
+
+    private final Student huub = new Student("Huub", "de Beer", "4");
+    private final Student anna = new Student("Anna", "Beers", "1");
+    private final Student elsa = new Student("Elsa", "van der Borne", "3");
+    private final Student jan = new Student("Jan", "Jansens", "2");
+    private final Student emre = new Student("Emre", "Öztürk", "6");
+    private final Student lisa = new Student("Lisa", "Oz", "5");
+
+    private final Roster roster = Roster.of(List.of(jan, emre, huub, lisa, elsa, anna));
+
+    /**
+     * Test of inOrder method, of class Roster.
+     */
+    @Test
+    public void testInOrder() {
+        assertEquals(6, roster.size());
+        assertEquals(List.of(huub, anna, elsa, jan, lisa, emre), roster.inOrder());
+        assertThrows(UnsupportedOperationException.class, () -> roster.inOrder().set(0, jan));
+        assertEquals(List.of(), Roster.of(List.of()).inOrder());
+    }
+
+    /**
+     * Test of withPrefix method, of class Roster.
+     */
+    @Test
+    public void testWithPrefix() {
+        assertEquals(List.of(huub, anna), roster.withPrefix("Beer"));
+        assertEquals(List.of(huub), roster.withPrefix("beer, h"));
+        assertEquals(List.of(elsa), roster.withPrefix("Borne, Elsa van"));
+        assertEquals(List.of(lisa, emre), roster.withPrefix("Oz"));
+        assertEquals(List.of(emre), roster.withPrefix("ÖZT"));
+        assertEquals(List.of(), roster.withPrefix("Beers, B"));
+        assertEquals(List.of(), roster.withPrefix("Zwart"));
+        assertEquals(roster.inOrder(), roster.withPrefix(""));
+    }
+
+    /**
+     * Test of byId and indexOf methods, of class Roster.
+     */
+    @Test
+    public void testById() {
+        assertSame(emre, roster.byId("6"));
+        assertSame(huub, roster.byId("4"));
+        assertNull(roster.byId("7"));
+
+        assertEquals(2, roster.indexOf(new Student("", "", "3")));
+        assertEquals(-1, roster.indexOf(new Student("Elsa", "van der Borne", "8")));
+    }
+
+    /**
+     * Test of Roster class with a large class, against sorting by sort name.
+     */
+    @Test
+    public void testLarge() {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            students.add(new Student("First" + i % 37, "van Last" + i % 101, "id" + i));
+        }
+        Roster large = Roster.of(students);
+
+        List<Student> expected = new ArrayList<>(students);
+        expected.sort(Comparator.comparing(Student::sortName).thenComparing(Student::id));
+        assertEquals(expected, large.inOrder());
+
+        List<Student> last7 = expected.stream()
+                .filter(student -> student.sortName().startsWith("Last7,"))
+                .toList();
+        assertEquals(last7, large.withPrefix("last7,"));
+        for (Student student : students) {
+            assertSame(student, large.byId(student.id()));
+            assertSame(student, large.inOrder().get(large.indexOf(student)));
+        }
+    }
+}
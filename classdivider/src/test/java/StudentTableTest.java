@@ -0,0 +1,106 @@
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test StudentTable.
+ */
+public class StudentTableTest {
+
+    private Group<Student> createGroup(int count, String idPrefix) {
+        Group<Student> group = new Group<>();
+        for (int i = 0; i < count; i++) {
+            group.add(new Student("Student" + i % 10, "Lastname" + i % 3, idPrefix + i));
+        }
+        return group;
+    }
+
+    @Test
+    void of_numericIds() {
+        Group<Student> students = createGroup(100, "");
+        StudentTable table = StudentTable.of(students);
+
+        assertEquals(100, table.size());
+        assertTrue(table.hasNumericIds());
+        assertEquals("Student7", table.firstName(17));
+        assertEquals("Lastname2", table.lastName(17));
+        assertEquals("17", table.id(17));
+        assertEquals(students.toString(), table.toGroup().toString());
+    }
+
+    @Test
+    void of_mixedIds() {
+        StudentTable.Builder builder = new StudentTable.Builder(0);
+        assertTrue(builder.add("Huub", "de Beer", "232112"));
+        assertTrue(builder.add("Jan", "Jansens", "007"));
+        assertTrue(builder.add("Anna", "Smit", "s123"));
+        assertFalse(builder.add("Other", "Student", "232112"));
+        StudentTable table = builder.build();
+
+        assertEquals(3, table.size());
+        assertFalse(table.hasNumericIds());
+        assertEquals("232112", table.id(0));
+        assertEquals("007", table.id(1));
+        assertEquals(new Student("Anna", "Smit", "s123"), table.student(2));
+        assertEquals("Huub", table.firstName(0));
+    }
+
+    @Test
+    void builder_duplicateNumericIds() {
+        StudentTable.Builder builder = new StudentTable.Builder(0);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(builder.add("First", "Last", Long.toString(1_810_000L + 7 * i)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(builder.add("Other", "Student", Long.toString(1_810_000L + 7 * i)));
+        }
+        assertTrue(builder.add("First", "Last", "0"));
+        StudentTable table = builder.build();
+
+        assertEquals(1001, table.size());
+        assertTrue(table.hasNumericIds());
+        assertEquals("1816993", table.id(999));
+        assertEquals("First", table.firstName(999));
+
+        // After switching to string IDs, the numeric IDs are still known
+        assertTrue(builder.add("Anna", "Smit", "s123"));
+        assertFalse(builder.add("Other", "Student", "1810007"));
+        assertFalse(builder.add("Other", "Student", "s123"));
+        assertEquals(1002, builder.build().size());
+    }
+
+    @Test
+    void isNumericId() {
+        assertTrue(StudentTable.isNumericId("0"));
+        assertTrue(StudentTable.isNumericId("1810541"));
+        assertFalse(StudentTable.isNumericId(""));
+        assertFalse(StudentTable.isNumericId("0123"));
+        assertFalse(StudentTable.isNumericId("12a"));
+        assertFalse(StudentTable.isNumericId("-1"));
+        assertFalse(StudentTable.isNumericId("1234567890123456789"));
+    }
+
+    @Test
+    void divide_byIndex() {
+        StudentTable table = StudentTable.of(createGroup(10, "ID"));
+        int[][] groups = new ClassDivider().divide(table, 3, 1);
+
+        assertEquals(3, groups.length);
+        Set<Integer> rows = new HashSet<>();
+        int total = 0;
+        for (int[] group : groups) {
+            assertTrue(group.length == 3 || group.length == 4);
+            total += group.length;
+            for (int row : group) {
+                rows.add(row);
+            }
+        }
+        assertEquals(10, total);
+        assertEquals(10, rows.size());
+        assertEquals(groups[0].length, table.toGroup(groups[0]).size());
+
+        assertEquals(0, new ClassDivider().divide(table, 4, 0).length);
+    }
+}
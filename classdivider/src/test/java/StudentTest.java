@@ -30,6 +30,17 @@ public class StudentTest {
         assertEquals("Santos, Julia dos", new Student("Julia", "dos Santos", "").sortName());
     }
 
+    /**
+     * Test of sortLastName method, of class Student.
+     */
+    @Test
+    public void testSortLastName() {
+        assertEquals("Beer", new Student("Huub", "de Beer", "").sortLastName());
+        assertEquals("Borne", new Student("Elsa", "van der Borne", "").sortLastName());
+        assertEquals("Van der Borne", new Student("Else", "Van der Borne", "").sortLastName());
+        assertEquals("", new Student("Jan", "", "").sortLastName());
+    }
+
     /**
      * Test of equals method, of class Student.
      */
@@ -56,4 +67,16 @@ public class StudentTest {
         );
     }
 
+    /**
+     * Test of hashCode method, of class Student.
+     */
+    @Test
+    public void testHashCode() {
+        Student s1 = new Student("First name", "Last name", "ID");
+        Student s3 = new Student("Other first name", "Other last name", "ID");
+
+        // Equal students have equal hash codes
+        assertEquals(s1.hashCode(), s3.hashCode());
+    }
+
 }
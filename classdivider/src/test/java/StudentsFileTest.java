@@ -1,4 +1,10 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -10,6 +16,84 @@ public class StudentsFileTest {
 
     private static final String HEADER = "first name,last name,ID";
 
+    @TempDir
+    Path tempDir;
+
+    private Path writeStudents(int count) throws Exception {
+        StringBuilder csv = new StringBuilder("\uFEFF" + HEADER + "\r\n");
+        for (int i = 0; i < count; i++) {
+            csv.append("First%d,van Last%d,%d\r\n".formatted(i, i, i));
+        }
+        Path file = tempDir.resolve("students.lst");
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    /**
+     * Test of fromCSV method, of class StudentsFile, reading a file.
+     */
+    @Test
+    public void testFromCSV_Path() throws Exception {
+        Group<Student> students = StudentsFile.fromCSV(writeStudents(100));
+        assertEquals(100, students.size());
+        assertTrue(students.contains(new Student("First7", "van Last7", "7")));
+
+        // Students are passed to the consumer in file order
+        List<Student> read = new ArrayList<>();
+        StudentsFile.fromCSV(writeStudents(3), read::add);
+        assertEquals(List.of(
+                new Student("First0", "van Last0", "0"),
+                new Student("First1", "van Last1", "1"),
+                new Student("First2", "van Last2", "2")
+        ), read);
+        assertEquals("van Last2", read.get(2).lastName());
+    }
+
+    /**
+     * Test of fromCSV method, of class StudentAttributes.
+     */
+    @Test
+    public void testAttributesFromCSV() throws Exception {
+        Path file = tempDir.resolve("attributes.lst");
+        Files.writeString(file, "\uFEFF" + HEADER + ",programme,language\r\n"
+                + "Huub,de Beer,1,CS,nl\r\n"
+                + "Jan,Jansens,2,EE\r\n"
+                + "Huub,de Beer,1,DS,en\r\n");
+
+        assertEquals(2, StudentsFile.fromCSV(file).size());
+        StudentAttributes attributes = StudentAttributes.fromCSV(file);
+        assertEquals(List.of("programme", "language"), attributes.names());
+        assertEquals("CS", attributes.get(new Student("Huub", "de Beer", "1"), 0));
+        assertEquals("nl", attributes.get(new Student("Huub", "de Beer", "1"), 1));
+        assertEquals("", attributes.get(new Student("Jan", "Jansens", "2"), 1));
+        assertEquals("", attributes.get(new Student("Piet", "Pietersen", "3"), 0));
+
+        assertEquals(List.of(), StudentAttributes.fromCSV(writeStudents(3)).names());
+
+        Files.writeString(file, HEADER + ",programme\r\nHuub,de Beer,1,CS\r\nJan\r\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> StudentAttributes.fromCSV(file));
+        assertTrue(e.getMessage().startsWith("Student 3:"), e.getMessage());
+    }
+
+    /**
+     * Test of stream method, of class StudentsFile.
+     */
+    @Test
+    public void testStream() throws Exception {
+        Path file = writeStudents(10);
+        try (Stream<Student> students = StudentsFile.stream(file)) {
+            assertEquals(
+                    List.of("0", "1", "2"),
+                    students.limit(3).map(Student::id).toList()
+            );
+        }
+
+        try (Stream<Student> students = StudentsFile.stream(file)) {
+            assertEquals(10, students.count());
+        }
+    }
+
     /**
      * Test of fromCSV method, of class StudentsFile.
      */
@@ -61,4 +145,43 @@ public class StudentsFileTest {
         assertEquals("%s,%s,%s".formatted(firstName, lastName, id), lastRow);
     }
 
+    /**
+     * Test of toCSV method, of class StudentsFile, writing a file.
+     */
+    @Test
+    public void testToCSV_Path() throws Exception {
+        Group<Student> group = StudentsFile.fromCSV(writeStudents(50));
+        Path file = tempDir.resolve("out.csv");
+        StudentsFile.toCSV(file, group);
+
+        // Students are written in a stable order and can be read back
+        assertEquals(StudentsFile.toCSV(group), Files.readString(file));
+        assertEquals(
+                group.toString(),
+                StudentsFile.fromCSV(HEADER + "\n" + Files.readString(file)).toString()
+        );
+    }
+
+    /**
+     * Test of toGroupedCSV method, of class StudentsFile.
+     */
+    @Test
+    public void testToGroupedCSV() throws Exception {
+        Group<Student> first = new Group<>();
+        first.add(new Student("Huub", "de Beer", "1"));
+        first.add(new Student("Jan", "Jansens", "2"));
+        Group<Student> second = new Group<>();
+        second.add(new Student("Anna, Maria", "Smit", "3"));
+
+        Path file = tempDir.resolve("groups.csv");
+        StudentsFile.toGroupedCSV(file, List.of(first, second));
+
+        assertEquals(List.of(
+                "group,first name,last name,ID",
+                "1,Huub,de Beer,1",
+                "1,Jan,Jansens,2",
+                "2,\"Anna, Maria\",Smit,3"
+        ), Files.readAllLines(file));
+    }
+
 }
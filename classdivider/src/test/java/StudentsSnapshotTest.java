@@ -0,0 +1,114 @@
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test StudentsSnapshot.
+ */
+public class StudentsSnapshotTest {
+
+    private static final FileTime MODIFIED = FileTime.fromMillis(1_700_000_000_000L);
+
+    @TempDir
+    Path tempDir;
+
+    private Group<Student> createGroup() {
+        Group<Student> students = new Group<>();
+        students.add(new Student("Huub", "de Beer", "232112"));
+        students.add(new Student("Émile", "Zola", "1"));
+        students.add(new Student("Huub", "Jansens", "2"));
+        students.add(new Student("", "", ""));
+        return students;
+    }
+
+    @Test
+    void writeAndRead() throws Exception {
+        Path file = tempDir.resolve("students.lst.snapshot");
+        Group<Student> students = createGroup();
+        StudentsSnapshot.write(file, students, MODIFIED);
+
+        Group<Student> read = StudentsSnapshot.read(file);
+        assertEquals(students, read);
+        assertEquals(students.toString(), read.toString());
+
+        StudentsSnapshot.write(file, new Group<>(), MODIFIED);
+        assertTrue(StudentsSnapshot.read(file).isEmpty());
+    }
+
+    @Test
+    void isFresh() throws Exception {
+        Path file = tempDir.resolve("students.lst.snapshot");
+        assertFalse(StudentsSnapshot.isFresh(file, MODIFIED));
+
+        StudentsSnapshot.write(file, createGroup(), MODIFIED);
+        assertTrue(StudentsSnapshot.isFresh(file, MODIFIED));
+        assertFalse(StudentsSnapshot.isFresh(file, FileTime.fromMillis(0)));
+    }
+
+    @Test
+    void read_corrupt() throws Exception {
+        Path file = tempDir.resolve("students.lst.snapshot");
+        StudentsSnapshot.write(file, createGroup(), MODIFIED);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {42}), Files.size(file) - 1);
+        }
+        assertThrows(java.io.IOException.class, () -> StudentsSnapshot.read(file));
+
+        Files.writeString(file, "first name,last name,ID");
+        assertThrows(java.io.IOException.class, () -> StudentsSnapshot.read(file));
+    }
+
+    @Test
+    void fromCSVCached() throws Exception {
+        Path csv = tempDir.resolve("students.lst");
+        Files.writeString(csv, "first name,last name,ID\nHuub,de Beer,1\n");
+        Path snapshot = StudentsSnapshot.pathFor(csv);
+
+        assertEquals(1, StudentsFile.fromCSVCached(csv).size());
+        assertTrue(Files.exists(snapshot));
+        assertEquals(1, StudentsFile.fromCSVCached(csv).size());
+
+        // A changed CSV file makes the snapshot stale
+        Files.writeString(csv, "first name,last name,ID\nHuub,de Beer,1\nJan,Jansens,2\n");
+        Files.setLastModifiedTime(csv, MODIFIED);
+        assertEquals(2, StudentsFile.fromCSVCached(csv).size());
+        assertTrue(StudentsSnapshot.isFresh(snapshot, MODIFIED));
+    }
+
+    @Test
+    void fromCSVCached_snapshotNotWritable() throws Exception {
+        Path csv = tempDir.resolve("students.lst");
+        Files.writeString(csv, "first name,last name,ID\nHuub,de Beer,1\n");
+        // A non-empty directory where the snapshot should go cannot be replaced
+        Path snapshot = Files.createDirectory(StudentsSnapshot.pathFor(csv));
+        Files.writeString(snapshot.resolve("keep"), "");
+
+        assertEquals(1, StudentsFile.fromCSVCached(csv).size());
+        assertTrue(Files.isDirectory(snapshot));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void fromCSVCached_nameTooLong() throws Exception {
+        Path csv = tempDir.resolve("students.lst");
+        // A last name over 65535 bytes does not fit in a snapshot
+        Files.writeString(csv,
+                "first name,last name,ID\nHuub,%s,1\n".formatted("x".repeat(70_000)));
+
+        assertEquals(1, StudentsFile.fromCSVCached(csv).size());
+        assertFalse(Files.exists(StudentsSnapshot.pathFor(csv)));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertFalse(files.anyMatch(path -> path.toString().endsWith(".tmp")));
+        }
+    }
+}